@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import freemarker.template.Configuration;
+import org.apache.commons.cli.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Generate many vocabularies in one JVM, using a manifest file.
+ *
+ * The manifest is a properties file with one entry per vocabulary,
+ * using the long command line option names as keys, e.g. <code>rdf.file=rdf.ttl</code>
+ *
+ * @author Bart.Hanssens
+ */
+public class Batch {
+	/**
+	 * Command line options for batch mode
+	 */
+	private static final Options OPTS = new Options()
+			.addOption(Option.builder("b").longOpt("batch").required().hasArg().desc("manifest file listing the vocabularies").build())
+			.addOption(Option.builder("th").longOpt("threads").hasArg().desc("number of worker threads").required(false).build())
+			.addOption(Option.builder("me").longOpt("metrics").hasArg().desc("write metrics per vocabulary and totals to this JSON file").required(false).build())
+			.addOption(Option.builder("ar").longOpt("archive").hasArg().desc("write the sources of all vocabularies to this zip or jar file, in package directories, instead of to their output directories").required(false).build())
+			.addOption(Option.builder("co").longOpt("compile").hasArg().desc("compile all vocabularies in one compiler invocation, and write the class files to this directory, or to this zip or jar file").required(false).build())
+			.addOption(Option.builder("ccp").longOpt("compile-classpath").hasArg().desc("class path for compiling (default: the class path of VocGen)").required(false).build())
+			.addOption(Option.builder("w").longOpt("watch").desc("keep running, and regenerate the vocabularies whose ontology or copyright file changes").required(false).build());
+
+	/**
+	 * Manifest keys not applied to the entries when the batch writes an archive
+	 */
+	private static final Set<String> ARCHIVE_UNSUPPORTED = Set.of("archive", "compile", "compile-classpath",
+																"incremental", "metrics", "watch");
+
+	/**
+	 * Check if the command line requests batch mode
+	 *
+	 * @param args command line arguments
+	 * @return true if batch mode
+	 */
+	static boolean isBatch(String[] args) {
+		return Arrays.stream(args).anyMatch(a -> a.equals("-b") || a.equals("--batch"));
+	}
+
+	/**
+	 * Read manifest into command line arguments, one array per vocabulary
+	 *
+	 * @param manifest manifest file
+	 * @return map of entry names and command line arguments, sorted by name
+	 * @throws IOException
+	 */
+	static Map<String,String[]> readManifest(Path manifest) throws IOException {
+		Properties p = new Properties();
+		try (Reader r = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+			p.load(r);
+		}
+
+		Map<String,List<String>> entries = new TreeMap<>();
+		for (String key: new TreeSet<>(p.stringPropertyNames())) {
+			int dot = key.indexOf('.');
+			if (dot <= 0 || dot == key.length() - 1) {
+				throw new IOException("Invalid manifest key " + key + ", expected <entry>.<option>");
+			}
+			String name = key.substring(0, dot);
+			String opt = key.substring(dot + 1);
+			String val = p.getProperty(key).trim();
+
+			List<String> args = entries.computeIfAbsent(name, k -> new ArrayList<>());
+			Option o = Main.getOption(opt);
+			if (o != null && !o.hasArg()) {
+				// flags like snake-case
+				if (Boolean.parseBoolean(val)) {
+					args.add("--" + opt);
+				}
+			} else {
+				args.add("--" + opt);
+				args.add(val);
+			}
+		}
+
+		Map<String,String[]> res = new LinkedHashMap<>();
+		entries.forEach((k,v) -> res.put(k, v.toArray(new String[0])));
+		return res;
+	}
+
+	/**
+	 * Check that the entries do not use options which are not applied when writing an archive,
+	 * instead of silently ignoring them
+	 *
+	 * @param entries map of entry names and command line arguments
+	 * @throws IOException when an entry uses such an option
+	 */
+	static void checkArchiveEntries(Map<String,String[]> entries) throws IOException {
+		for (Map.Entry<String,String[]> e: entries.entrySet()) {
+			for (String arg: e.getValue()) {
+				if (arg.startsWith("--") && ARCHIVE_UNSUPPORTED.contains(arg.substring(2))) {
+					throw new IOException("Invalid manifest key " + e.getKey() + "." + arg.substring(2)
+											+ ", not supported with --archive");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Run all vocabularies of a manifest, using a bounded worker pool and a shared freemarker configuration.
+	 * A summary is printed per vocabulary.
+	 * With an archive, the sources are streamed into one zip or jar file, in the order of the manifest.
+	 * When compiling, all vocabularies are compiled together once they are all generated.
+	 * In watch mode, the vocabularies are regenerated when their input files change, until interrupted,
+	 * using the same archive, compilation and metrics options.
+	 *
+	 * @param args command line arguments
+	 * @return number of failed vocabularies of the first run, plus one when the compilation failed
+	 * @throws ParseException
+	 * @throws IOException
+	 */
+	public static int run(String[] args) throws ParseException, IOException {
+		CommandLine cmd;
+		try {
+			cmd = new DefaultParser().parse(OPTS, args);
+		} catch (ParseException e) {
+			HelpFormatter help = new HelpFormatter();
+			System.out.println(e.getMessage());
+			help.printHelp("VocabGen", OPTS);
+			throw e;
+		}
+		Map<String,String[]> entries = readManifest(Path.of(cmd.getOptionValue("b")));
+		if (entries.isEmpty()) {
+			System.out.println("No vocabularies in manifest");
+			return 0;
+		}
+		if (cmd.hasOption("ar")) {
+			checkArchiveEntries(entries);
+		}
+		Configuration cfg = Main.getConfig();
+		boolean watch = cmd.hasOption("w");
+		int failed;
+		try {
+			failed = generate(cmd, entries, cfg);
+		} catch (IOException e) {
+			if (!watch) {
+				throw e;
+			}
+			// keep watching, the input may be fixed while watching
+			System.out.println("FAILED  " + e);
+			failed = 1;
+		}
+
+		if (watch) {
+			// archives and compiled classes contain all vocabularies, so they are always regenerated completely
+			boolean all = cmd.hasOption("ar") || cmd.hasOption("co");
+			try (Watcher w = new Watcher(entries, changed -> {
+				Map<String,String[]> selected = new LinkedHashMap<>(entries);
+				if (!all) {
+					selected.keySet().retainAll(changed);
+				}
+				try {
+					generate(cmd, selected, cfg);
+				} catch (IOException e) {
+					System.out.println("FAILED  " + e);
+				}
+			})) {
+				w.run();
+			}
+		}
+		return failed;
+	}
+
+	/**
+	 * Generate vocabularies, writing them to their output directories or to an archive,
+	 * compiling them and writing the metrics when requested on the command line.
+	 *
+	 * @param cmd batch command line
+	 * @param entries map of entry names and command line arguments
+	 * @param cfg freemarker configuration
+	 * @return number of failed vocabularies, plus one when the compilation failed
+	 * @throws IOException
+	 */
+	private static int generate(CommandLine cmd, Map<String,String[]> entries, Configuration cfg) throws IOException {
+		int threads = cmd.hasOption("th")
+			? Integer.parseInt(cmd.getOptionValue("th"))
+			: Runtime.getRuntime().availableProcessors();
+		threads = Math.max(1, Math.min(threads, entries.size()));
+
+		boolean metrics = cmd.hasOption("me");
+		Map<String,Metrics> entryMetrics = new ConcurrentHashMap<>();
+		boolean compile = cmd.hasOption("co");
+		Map<String,List<GenerationResult.Source>> entrySources = new ConcurrentHashMap<>();
+		boolean archive = cmd.hasOption("ar");
+		Map<String,GenerationResult> entryResults = new ConcurrentHashMap<>();
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		Map<String,Future<Long>> results = new LinkedHashMap<>();
+		try {
+			entries.forEach((name, entryArgs) -> results.put(name, pool.submit(() -> {
+				long start = System.nanoTime();
+				Metrics m;
+				if (archive) {
+					// written to the archive by the calling thread, in the order of the manifest
+					GeneratorOptions opts = new Main().getOptions(Main.parseArgs(entryArgs), metrics);
+					GenerationResult r = new Generator(cfg).generate(opts);
+					entryResults.put(name, r);
+					entrySources.put(name, r.getSources());
+					m = r.getMetrics();
+				} else if (compile) {
+					List<GenerationResult.Source> sources = new ArrayList<>();
+					m = new Main().generateVocabulary(Main.parseArgs(entryArgs), cfg, metrics, sources);
+					entrySources.put(name, sources);
+				} else {
+					m = new Main().generateVocabulary(Main.parseArgs(entryArgs), cfg, metrics);
+				}
+				entryMetrics.put(name, m);
+				return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			})));
+		} finally {
+			pool.shutdown();
+		}
+
+		int failed = 0;
+		try (OutputSink sink = archive ? OutputSink.open(Path.of(cmd.getOptionValue("ar"))) : null) {
+			for (Map.Entry<String,Future<Long>> e: results.entrySet()) {
+				try {
+					long millis = e.getValue().get();
+					if (sink != null) {
+						entryResults.remove(e.getKey()).write(sink);
+					}
+					System.out.println(String.format("OK      %s (%d ms)", e.getKey(), millis));
+				} catch (ExecutionException ex) {
+					failed++;
+					System.out.println(String.format("FAILED  %s: %s", e.getKey(), ex.getCause()));
+				} catch (IOException ex) {
+					// e.g. a class already written by another entry, the archive stays usable
+					failed++;
+					System.out.println(String.format("FAILED  %s: %s", e.getKey(), ex));
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while waiting for " + e.getKey(), ex);
+				}
+			}
+		}
+		System.out.println(String.format("%d vocabularies, %d failed", entries.size(), failed));
+		if (compile) {
+			if (failed > 0) {
+				System.out.println("Not compiled, because of failed vocabularies");
+			} else {
+				long start = System.nanoTime();
+				List<GenerationResult.Source> sources = new ArrayList<>();
+				entries.keySet().forEach(k -> sources.addAll(entrySources.get(k)));
+				try {
+					Main.compile(sources, cmd.getOptionValue("ccp"), cmd.getOptionValue("co"));
+					System.out.println(String.format("Compiled %d sources (%d ms)", sources.size(),
+												TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+				} catch (IOException e) {
+					failed++;
+					System.out.println("FAILED  compile: " + e.getMessage());
+				}
+			}
+		}
+		if (metrics) {
+			Map<String,Metrics> sorted = new LinkedHashMap<>();
+			entries.keySet().stream().filter(entryMetrics::containsKey).forEach(k -> sorted.put(k, entryMetrics.get(k)));
+			Metrics.write(Path.of(cmd.getOptionValue("me")), Metrics.toJson(sorted));
+		}
+		return failed;
+	}
+}
@@ -3,6 +3,8 @@ package be.belgif.vocgen;
 public class Constant {
     private String name;
     private String label;
+    private boolean deprecated;
+    private String replacedBy;
 
     public Constant(String name, String label) {
         this.name = name;
@@ -17,6 +19,19 @@ public class Constant {
         return label;
     }
 
+    public boolean isDeprecated() {
+        return deprecated;
+    }
+
+    /**
+     * Get the IRI of the term replacing this deprecated term
+     *
+     * @return IRI as string or null
+     */
+    public String getReplacedBy() {
+        return replacedBy;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
@@ -24,4 +39,12 @@ public class Constant {
     public void setLabel(String label) {
         this.label = label;
     }
+
+    public void setDeprecated(boolean deprecated) {
+        this.deprecated = deprecated;
+    }
+
+    public void setReplacedBy(String replacedBy) {
+        this.replacedBy = replacedBy;
+    }
 }
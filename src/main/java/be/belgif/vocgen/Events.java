@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the generation phases.
+ *
+ * Events are created and begun unconditionally, which is close to free when recording is off,
+ * the attributes are only set when the event will be committed.
+ *
+ * @author Bart.Hanssens
+ */
+final class Events {
+	private static final String CATEGORY = "VocGen";
+
+	private Events() {
+	}
+
+	/**
+	 * Parsing an ontology file
+	 */
+	@Name("be.belgif.vocgen.OntologyLoad")
+	@Label("Ontology Load")
+	@Description("Parsing an ontology file into an RDF model")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class OntologyLoad extends Event {
+		@Label("File")
+		String file;
+
+		@Label("Namespace")
+		String namespace;
+
+		@Label("Streaming")
+		boolean streaming;
+
+		@Label("Parser Threads")
+		int threads;
+
+		@Label("Model Triples")
+		long triples;
+
+		/**
+		 * Set the attributes and commit, if the event is recorded
+		 *
+		 * @param file ontology file
+		 * @param namespace namespace URI
+		 * @param streaming only the triples needed for generation were kept
+		 * @param threads number of parser threads, 0 when parsed sequentially
+		 * @param triples number of triples in the model
+		 */
+		void finish(String file, String namespace, boolean streaming, int threads, long triples) {
+			end();
+			if (shouldCommit()) {
+				this.file = file;
+				this.namespace = namespace;
+				this.streaming = streaming;
+				this.threads = threads;
+				this.triples = triples;
+				commit();
+			}
+		}
+	}
+
+	/**
+	 * Extracting the terms of one kind from the model
+	 */
+	@Name("be.belgif.vocgen.TermExtraction")
+	@Label("Term Extraction")
+	@Description("Extracting classes, properties, individuals or deprecated terms in the namespace")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class TermExtraction extends Event {
+		@Label("Namespace")
+		String namespace;
+
+		@Label("Kind")
+		@Description("class, property, individual or deprecated")
+		String kind;
+
+		@Label("Model Triples")
+		long triples;
+
+		@Label("Terms")
+		int terms;
+
+		/**
+		 * Set the attributes and commit, if the event is recorded
+		 *
+		 * @param namespace namespace URI
+		 * @param kind kind of terms
+		 * @param triples number of triples in the model
+		 * @param terms number of terms found
+		 */
+		void finish(String namespace, String kind, long triples, int terms) {
+			end();
+			if (shouldCommit()) {
+				this.namespace = namespace;
+				this.kind = kind;
+				this.triples = triples;
+				this.terms = terms;
+				commit();
+			}
+		}
+	}
+
+	/**
+	 * Mapping local names to java constants for one template
+	 */
+	@Name("be.belgif.vocgen.NameNormalization")
+	@Label("Name Normalization")
+	@Description("Mapping local names to unique java constants")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class NameNormalization extends Event {
+		@Label("Namespace")
+		String namespace;
+
+		@Label("Template")
+		String template;
+
+		@Label("Snake Case")
+		boolean snakeCase;
+
+		@Label("Constants")
+		int constants;
+
+		/**
+		 * Set the attributes and commit, if the event is recorded
+		 *
+		 * @param namespace namespace URI
+		 * @param template template name
+		 * @param snakeCase all caps snake case constants
+		 * @param constants number of constants
+		 */
+		void finish(String namespace, String template, boolean snakeCase, int constants) {
+			end();
+			if (shouldCommit()) {
+				this.namespace = namespace;
+				this.template = template;
+				this.snakeCase = snakeCase;
+				this.constants = constants;
+				commit();
+			}
+		}
+	}
+
+	/**
+	 * Rendering the java source of one template
+	 */
+	@Name("be.belgif.vocgen.TemplateRender")
+	@Label("Template Render")
+	@Description("Rendering a java source with freemarker or the built-in emitter")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class TemplateRender extends Event {
+		@Label("Namespace")
+		String namespace;
+
+		@Label("Template")
+		String template;
+
+		@Label("Class Name")
+		String className;
+
+		@Label("Emitter")
+		@Description("Rendered with the built-in emitter instead of freemarker")
+		boolean emitter;
+
+		@Label("Constants")
+		int constants;
+
+		@Label("Source Characters")
+		long size;
+
+		/**
+		 * Set the attributes and commit, if the event is recorded
+		 *
+		 * @param namespace namespace URI
+		 * @param template template name
+		 * @param className name of the java class
+		 * @param emitter rendered with the built-in emitter
+		 * @param constants number of constants
+		 * @param size number of characters in the source
+		 */
+		void finish(String namespace, String template, String className, boolean emitter, int constants, long size) {
+			end();
+			if (shouldCommit()) {
+				this.namespace = namespace;
+				this.template = template;
+				this.className = className;
+				this.emitter = emitter;
+				this.constants = constants;
+				this.size = size;
+				commit();
+			}
+		}
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache in the output directory, to skip parsing and rendering when nothing changed.
+ *
+ * The cache stores a digest of the ontology, copyright snippet, template and command line options,
+ * and of the generator itself (its classes and templates), so a new or locally rebuilt version invalidates it.
+ *
+ * @author Bart.Hanssens
+ */
+public class GenerationCache {
+	/**
+	 * Options not changing the generated sources, e.g. the path of the metrics report
+	 */
+	private static final Set<String> OUTPUT_ONLY = Set.of("ic", "me", "w", "co", "ccp");
+
+	private static byte[] code;
+
+	private final Path cacheFile;
+
+	/**
+	 * Constructor
+	 *
+	 * @param outputDir output directory
+	 * @param className name of the generated class
+	 */
+	public GenerationCache(Path outputDir, String className) {
+		this.cacheFile = outputDir.resolve("." + className + ".vocgen");
+	}
+
+	/**
+	 * Check if the cached digest matches the current one
+	 *
+	 * @param digest current digest
+	 * @param outFiles all generated files
+	 * @return true if all generated files exist and are up to date
+	 */
+	public boolean isUpToDate(String digest, Path... outFiles) {
+		try {
+			return Arrays.stream(outFiles).allMatch(Files::exists) && Files.exists(cacheFile)
+					&& Files.readString(cacheFile, StandardCharsets.UTF_8).trim().equals(digest);
+		} catch (IOException ioe) {
+			return false;
+		}
+	}
+
+	/**
+	 * Store digest
+	 *
+	 * @param digest digest
+	 * @throws IOException
+	 */
+	public void store(String digest) throws IOException {
+		writeIfChanged(cacheFile, digest.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Calculate digest of all input of the generator
+	 *
+	 * @param cmd command line
+	 * @param ontology ontology input stream
+	 * @param copyright copyright snippet or null
+	 * @param template template name
+	 * @return digest as hex string
+	 * @throws IOException
+	 */
+	public static String digest(CommandLine cmd, InputStream ontology, String copyright, String template)
+													throws IOException {
+		return digest(cmd, digestOntology(ontology), copyright, template);
+	}
+
+	/**
+	 * Calculate digest of the ontology, so it can be reused for several templates
+	 *
+	 * @param ontology ontology input stream
+	 * @return digest
+	 * @throws IOException
+	 */
+	public static byte[] digestOntology(InputStream ontology) throws IOException {
+		MessageDigest md = newDigest();
+		update(md, ontology);
+		return md.digest();
+	}
+
+	/**
+	 * Calculate digest of the generator, once per JVM: the version and the class files and templates
+	 * in its class directory or jar. When these cannot be read, only the version is used.
+	 *
+	 * @return digest
+	 * @throws IOException
+	 */
+	static synchronized byte[] digestCode() throws IOException {
+		if (code != null) {
+			return code;
+		}
+		MessageDigest md = newDigest();
+		md.update(String.valueOf(GenerationCache.class.getPackage().getImplementationVersion())
+					.getBytes(StandardCharsets.UTF_8));
+		try {
+			CodeSource src = GenerationCache.class.getProtectionDomain().getCodeSource();
+			Path location = (src != null) ? Path.of(src.getLocation().toURI()) : null;
+			if (location != null && Files.isDirectory(location)) {
+				List<Path> files;
+				try (Stream<Path> s = Files.walk(location)) {
+					files = s.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+				}
+				for (Path f: files) {
+					md.update(location.relativize(f).toString().getBytes(StandardCharsets.UTF_8));
+					md.update(Files.readAllBytes(f));
+				}
+			} else if (location != null && Files.isRegularFile(location)) {
+				try (InputStream in = Files.newInputStream(location)) {
+					update(md, in);
+				}
+			}
+		} catch (URISyntaxException|IllegalArgumentException|FileSystemNotFoundException|SecurityException e) {
+			// e.g. loaded from a nested jar, only the version is used
+		}
+		code = md.digest();
+		return code;
+	}
+
+	/**
+	 * Add the content of a stream to a digest
+	 *
+	 * @param md message digest
+	 * @param in input stream
+	 * @throws IOException
+	 */
+	private static void update(MessageDigest md, InputStream in) throws IOException {
+		byte[] buf = new byte[64 * 1024];
+		int len;
+		while ((len = in.read(buf)) > 0) {
+			md.update(buf, 0, len);
+		}
+	}
+
+	/**
+	 * Calculate digest of all input of the generator, using the digest of the ontology
+	 *
+	 * @param cmd command line
+	 * @param ontology digest of the ontology
+	 * @param copyright copyright snippet or null
+	 * @param template template name
+	 * @return digest as hex string
+	 * @throws IOException
+	 */
+	public static String digest(CommandLine cmd, byte[] ontology, String copyright, String template)
+													throws IOException {
+		MessageDigest md = newDigest();
+		// generator itself, in case the templates or the code (e.g. the java emitter) changed
+		md.update(digestCode());
+
+		Arrays.stream(cmd.getOptions())
+			.filter(o -> !OUTPUT_ONLY.contains(o.getOpt()))
+			.sorted(Comparator.comparing(Option::getOpt))
+			.forEach(o -> md.update((o.getOpt() + "=" + o.getValuesList() + "\n").getBytes(StandardCharsets.UTF_8)));
+
+		md.update(ontology);
+		if (copyright != null) {
+			md.update(copyright.getBytes(StandardCharsets.UTF_8));
+		}
+		try (InputStream in = Main.class.getClassLoader().getResourceAsStream("be/belgif/vocgen/" + template)) {
+			if (in != null) {
+				md.update(in.readAllBytes());
+			}
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b: md.digest()) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Get a SHA-256 message digest
+	 *
+	 * @return message digest
+	 * @throws IOException
+	 */
+	private static MessageDigest newDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	/**
+	 * Write a file only if the content is different, using a temporary file and an atomic move.
+	 * This keeps the timestamp of unchanged files, so they are not recompiled.
+	 * The temporary file is created with the default permissions (umask), unlike Files.createTempFile.
+	 *
+	 * @param file file to write
+	 * @param content content
+	 * @return true if the file was written
+	 * @throws IOException
+	 */
+	public static boolean writeIfChanged(Path file, byte[] content) throws IOException {
+		if (Files.exists(file) && Files.size(file) == content.length
+				&& Arrays.equals(Files.readAllBytes(file), content)) {
+			return false;
+		}
+		Path tmp = file.toAbsolutePath().resolveSibling("." + file.getFileName() + "."
+								+ Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+		try {
+			Files.write(tmp, content, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			try {
+				Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+		return true;
+	}
+}
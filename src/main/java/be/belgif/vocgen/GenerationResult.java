@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Result of generating a vocabulary: the extracted terms and the rendered sources, one per template.
+ * Nothing is written to disk until {@link #write()} is called.
+ *
+ * @author Bart.Hanssens
+ */
+public class GenerationResult {
+	private final Terms terms;
+	private final List<Source> sources;
+	private final Metrics metrics;
+
+	/**
+	 * Constructor
+	 *
+	 * @param terms extracted terms
+	 * @param sources rendered sources
+	 * @param metrics metrics
+	 */
+	GenerationResult(Terms terms, List<Source> sources, Metrics metrics) {
+		this.terms = terms;
+		this.sources = List.copyOf(sources);
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Get the terms extracted from the ontology
+	 *
+	 * @return terms
+	 */
+	public Terms getTerms() {
+		return terms;
+	}
+
+	/**
+	 * Get the rendered sources, in the order of the templates
+	 *
+	 * @return unmodifiable list of sources
+	 */
+	public List<Source> getSources() {
+		return sources;
+	}
+
+	/**
+	 * Get the metrics per phase, including writing the files (when already written)
+	 *
+	 * @return metrics, disabled unless requested in the options
+	 */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Write all sources, skipping files that did not change
+	 *
+	 * @throws IOException
+	 */
+	public void write() throws IOException {
+		int written = 0;
+		Metrics.Timer timer = metrics.start(Metrics.WRITE);
+		try {
+			for (Source s: sources) {
+				written += s.write();
+			}
+		} finally {
+			timer.stop();
+		}
+		metrics.count(Metrics.WRITE, "filesWritten", written);
+	}
+
+	/**
+	 * Write all sources to a sink, in package directories, instead of to their output directories.
+	 * With more than one template, the package directories are put in a directory per template,
+	 * since the class names are the same.
+	 *
+	 * @param sink directory or archive
+	 * @throws IOException
+	 */
+	public void write(OutputSink sink) throws IOException {
+		int written = 0;
+		Metrics.Timer timer = metrics.start(Metrics.WRITE);
+		try {
+			for (Source s: sources) {
+				written += sink.write(s, sources.size() > 1 ? s.getTemplate() + "/" : "");
+			}
+		} finally {
+			timer.stop();
+		}
+		metrics.count(Metrics.WRITE, "filesWritten", written);
+	}
+
+	/**
+	 * Create output directory if needed
+	 *
+	 * @param outputDir output directory
+	 * @throws IOException
+	 */
+	private static void createOutputDir(File outputDir) throws IOException {
+		if (!outputDir.exists()) {
+			System.out.println("creating output directory " + outputDir.getAbsolutePath());
+			// another vocabulary of the same batch may have created it in the mean time
+			if (!outputDir.mkdirs() && !outputDir.isDirectory()) {
+				throw new IOException("Unable to create output directory");
+			}
+		}
+	}
+
+	/**
+	 * Java source rendered with one template
+	 */
+	public static class Source {
+		private final String template;
+		private final String javaPackage;
+		private final File outputDir;
+		private final String className;
+		private final String source;
+		private final byte[] dictionary;
+
+		/**
+		 * Constructor
+		 *
+		 * @param template template name
+		 * @param javaPackage java package
+		 * @param outputDir output directory
+		 * @param className name of the java class
+		 * @param source java source
+		 * @param dictionary binary term dictionary, or null
+		 */
+		Source(String template, String javaPackage, File outputDir, String className, String source,
+																				byte[] dictionary) {
+			this.template = template;
+			this.javaPackage = javaPackage;
+			this.outputDir = outputDir;
+			this.className = className;
+			this.source = source;
+			this.dictionary = dictionary;
+		}
+
+		/**
+		 * Get the template name
+		 *
+		 * @return template name, e.g. rdf4j
+		 */
+		public String getTemplate() {
+			return template;
+		}
+
+		/**
+		 * Get the java package
+		 *
+		 * @return package name
+		 */
+		public String getJavaPackage() {
+			return javaPackage;
+		}
+
+		/**
+		 * Get the output directory
+		 *
+		 * @return directory
+		 */
+		public File getOutputDir() {
+			return outputDir;
+		}
+
+		/**
+		 * Get the name of the java class
+		 *
+		 * @return class name
+		 */
+		public String getClassName() {
+			return className;
+		}
+
+		/**
+		 * Get the path in a package directory layout, without extension
+		 *
+		 * @return path, e.g. org/w3/vocab/RDF
+		 */
+		public String getPath() {
+			return (javaPackage == null || javaPackage.isEmpty())
+				? className
+				: javaPackage.replace('.', '/') + "/" + className;
+		}
+
+		/**
+		 * Get the java source
+		 *
+		 * @return source
+		 */
+		public String getSource() {
+			return source;
+		}
+
+		/**
+		 * Get a copy of the binary term dictionary, for the dictionary template
+		 *
+		 * @return dictionary or null
+		 */
+		public byte[] getDictionary() {
+			return (dictionary != null) ? dictionary.clone() : null;
+		}
+
+		/**
+		 * Write the source (and dictionary) to the output directory.
+		 * Files are only written when changed, so javac does not recompile unchanged vocabularies.
+		 *
+		 * @return number of files written
+		 * @throws IOException
+		 */
+		public int write() throws IOException {
+			createOutputDir(outputDir);
+			try (OutputSink sink = new DirectorySink(outputDir.toPath())) {
+				int written = 0;
+				if (dictionary != null && sink.write(className + ".dict", dictionary)) {
+					written++;
+				}
+				if (sink.write(className + ".java", source.getBytes(StandardCharsets.UTF_8))) {
+					written++;
+				}
+				return written;
+			}
+		}
+	}
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import be.belgif.vocgen.Main.Target;
+import be.belgif.vocgen.Main.TemplateType;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateException;
+import org.eclipse.rdf4j.model.Model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generate vocabulary classes from an ontology, without command line parsing.
+ *
+ * A generator has no mutable state: one instance, and its (cached) freemarker configuration,
+ * can be shared and called from many threads at the same time.
+ *
+ * @author Bart.Hanssens
+ */
+public class Generator {
+	/**
+	 * Names of the fields added by the reverse lookup
+	 */
+	private static final Set<String> LOOKUP_RESERVED = Set.of("CLASSES", "PROPERTIES", "INDIVIDUALS");
+
+	/**
+	 * Names of the fields added by the reverse lookup in sharded classes
+	 */
+	private static final Set<String> SHARD_LOOKUP_RESERVED = Set.of("LOOKUP_NAMES", "LOOKUP_IRIS");
+
+	private final Configuration cfg;
+
+	/**
+	 * Constructor, using the default freemarker configuration
+	 */
+	public Generator() {
+		this(Main.getConfig());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param cfg freemarker configuration, must not be modified after it is passed to the generator
+	 */
+	public Generator(Configuration cfg) {
+		this.cfg = cfg;
+	}
+
+	/**
+	 * Parse the ontology, extract the terms and render the sources of all templates.
+	 * Nothing is written to disk, see {@link GenerationResult#write()}.
+	 *
+	 * @param opts options
+	 * @return extracted terms and rendered sources
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	public GenerationResult generate(GeneratorOptions opts) throws IOException, TemplateException {
+		return generate(opts, opts.getTargets());
+	}
+
+	/**
+	 * Extract the terms from an already parsed ontology, and render the sources of all templates.
+	 * The model is only read.
+	 *
+	 * @param m RDF model
+	 * @param opts options, the ontology file is ignored
+	 * @return extracted terms and rendered sources
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	public GenerationResult generate(Model m, GeneratorOptions opts) throws IOException, TemplateException {
+		return generate(m, opts, opts.getTargets(), opts.isMetrics() ? new Metrics() : Metrics.DISABLED);
+	}
+
+	/**
+	 * Parse the ontology, extract the terms and render the sources of some of the templates
+	 *
+	 * @param opts options
+	 * @param targets templates to render
+	 * @return extracted terms and rendered sources
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	GenerationResult generate(GeneratorOptions opts, List<Target> targets) throws IOException, TemplateException {
+		Metrics metrics = opts.isMetrics() ? new Metrics() : Metrics.DISABLED;
+		Model m;
+		Metrics.Timer timer = metrics.start(Metrics.LOAD);
+		try {
+			m = Main.getModel(opts.getFile(), opts.getNamespace(), opts.isSearchClasspath(), opts.isStreaming(),
+								opts.getParallel());
+		} finally {
+			timer.stop();
+		}
+		metrics.count(Metrics.LOAD, "modelTriples", m.size());
+		return generate(m, opts, targets, metrics);
+	}
+
+	/**
+	 * Extract the terms and render the sources of some of the templates
+	 *
+	 * @param m RDF model
+	 * @param opts options
+	 * @param targets templates to render
+	 * @param metrics metrics
+	 * @return extracted terms and rendered sources
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	private GenerationResult generate(Model m, GeneratorOptions opts, List<Target> targets, Metrics metrics)
+															throws IOException, TemplateException {
+		Terms terms;
+		Metrics.Timer timer = metrics.start(Metrics.EXTRACT);
+		try {
+			LabelIndex labels = LabelIndex.build(m, opts.getLabelSources(), opts.getLanguages());
+			terms = Main.extract(m, opts.getNamespace(), labels);
+		} finally {
+			timer.stop();
+		}
+		metrics.count(Metrics.EXTRACT, "classes", terms.getClasses().size());
+		metrics.count(Metrics.EXTRACT, "properties", terms.getProps().size());
+		metrics.count(Metrics.EXTRACT, "individuals", terms.getIndivs().size());
+		metrics.count(Metrics.EXTRACT, "deprecated", terms.getDeprecated().size());
+		return new GenerationResult(terms, renderVocabs(terms, opts, targets, metrics), metrics);
+	}
+
+	/**
+	 * Render java class for a template
+	 *
+	 * @param terms extracted terms
+	 * @param opts options
+	 * @param target template, java package and output directory
+	 * @param metrics metrics
+	 * @return rendered source
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	private GenerationResult.Source renderVocab(Terms terms, GeneratorOptions opts, Target target, Metrics metrics)
+															throws IOException, TemplateException {
+		TemplateType template = target.getTemplate();
+		boolean snakeCase = opts.isSnakeCase();
+		int shardSize = opts.getShardSize();
+
+		Map data = target.getData(opts.getData());
+		Metrics.Timer namesTimer = metrics.start(Metrics.NAMES);
+		Map<String,Constant> classes;
+		Map<String,Constant> props;
+		Map<String,Constant> indivs;
+		int constants;
+		try {
+			Events.NameNormalization nameEvent = new Events.NameNormalization();
+			nameEvent.begin();
+			boolean lookup = opts.isLookup();
+			Set<String> reserved = new HashSet<>(template.getReserved());
+			if (lookup) {
+				reserved.addAll(LOOKUP_RESERVED);
+				if (shardSize > 0) {
+					reserved.addAll(SHARD_LOOKUP_RESERVED);
+				}
+			}
+			NameResolver resolver = new NameResolver(reserved);
+			classes = Main.getConstants(terms.getClasses(), snakeCase, resolver, null);
+			props = Main.getConstants(terms.getProps(), snakeCase, resolver, "_PROP");
+			indivs = Main.getConstants(terms.getIndivs(), snakeCase, resolver, "_INDIV");
+
+			Main.markDeprecated(classes, terms.getDeprecated());
+			Main.markDeprecated(props, terms.getDeprecated());
+			Main.markDeprecated(indivs, terms.getDeprecated());
+
+			setDefaultLabelsIfMissing(classes, (String) data.get("prefix"));
+			setDefaultLabelsIfMissing(props, (String) data.get("prefix"));
+			setDefaultLabelsIfMissing(indivs, (String) data.get("prefix"));
+
+			data.put("classMap", classes);
+			data.put("propMap", props);
+			data.put("indivMap", indivs);
+			if (lookup) {
+				Map<String,Constant> lookupMap = Main.getLookup(classes, props, indivs);
+				data.put("lookupMap", lookupMap);
+				if (shardSize > 0) {
+					// a switch case needs about four times as much byte code as the initialization of a constant
+					data.put("lookupShards", Main.getLookupShards(Math.max(1, shardSize / 4), lookupMap));
+				}
+			}
+			if (shardSize > 0) {
+				data.put("shards", Main.getShards(shardSize, classes, props, indivs));
+			}
+
+			constants = classes.size() + props.size() + indivs.size();
+			nameEvent.finish(opts.getNamespace(), target.getName(), snakeCase, constants);
+		} finally {
+			namesTimer.stop();
+		}
+		metrics.count(Metrics.NAMES, "constants", constants);
+
+		byte[] dictionary;
+		String source;
+		Metrics.Timer renderTimer = metrics.start(Metrics.RENDER);
+		try {
+			Events.TemplateRender renderEvent = new Events.TemplateRender();
+			renderEvent.begin();
+			dictionary = (template == TemplateType.DICTIONARY) ? TermDictionary.build(classes, props, indivs) : null;
+			source = Main.render(cfg, template, data, opts.isEmitter());
+			renderEvent.finish(opts.getNamespace(), target.getName(), opts.getShortName(),
+								opts.isEmitter() && JavaEmitter.supports(template), constants, source.length());
+		} finally {
+			renderTimer.stop();
+		}
+		metrics.count(Metrics.RENDER, "sourceChars", source.length());
+		if (dictionary != null) {
+			metrics.count(Metrics.RENDER, "dictionaryBytes", dictionary.length);
+		}
+		return new GenerationResult.Source(target.getName(), target.getJavaPackage(),
+											target.getOutputDir(), opts.getShortName(), source, dictionary);
+	}
+
+	/**
+	 * Render the java classes of several templates concurrently
+	 *
+	 * @param terms extracted terms
+	 * @param opts options
+	 * @param targets templates with their package and output directory
+	 * @param metrics metrics
+	 * @return rendered sources, in the order of the targets
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	private List<GenerationResult.Source> renderVocabs(Terms terms, GeneratorOptions opts, List<Target> targets,
+												Metrics metrics) throws IOException, TemplateException {
+		if (targets.size() == 1) {
+			return List.of(renderVocab(terms, opts, targets.get(0), metrics));
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(
+								Math.max(1, Math.min(targets.size(), Runtime.getRuntime().availableProcessors())));
+		List<Future<GenerationResult.Source>> results = new ArrayList<>(targets.size());
+		try {
+			for (Target t: targets) {
+				results.add(pool.submit(() -> renderVocab(terms, opts, t, metrics)));
+			}
+			List<GenerationResult.Source> sources = new ArrayList<>(targets.size());
+			for (Future<GenerationResult.Source> f: results) {
+				sources.add(f.get());
+			}
+			return sources;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof TemplateException) {
+				throw (TemplateException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while rendering vocabularies", e);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void setDefaultLabelsIfMissing(Map<String, Constant> constantMap, String nsPrefix) {
+		constantMap.values()
+						.stream()
+						.forEach(c -> {
+							if (c.getLabel() == null) {
+								c.setLabel(nsPrefix + ":" + c.getName());
+							}
+						});
+	}
+}
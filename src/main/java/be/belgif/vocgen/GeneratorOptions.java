@@ -0,0 +1,560 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import org.eclipse.rdf4j.model.IRI;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable settings for generating a vocabulary, see {@link Generator}.
+ *
+ * Use {@link #builder()} to create an instance, the settings correspond to the command line options.
+ *
+ * @author Bart.Hanssens
+ */
+public class GeneratorOptions {
+	private final String file;
+	private final boolean searchClasspath;
+	private final boolean streaming;
+	private final int parallel;
+	private final String namespace;
+	private final String shortName;
+	private final String longName;
+	private final String prefix;
+	private final String doc;
+	private final String author;
+	private final String copyright;
+	private final List<Main.Target> targets;
+	private final boolean snakeCase;
+	private final List<IRI> labelSources;
+	private final List<String> languages;
+	private final boolean emitter;
+	private final boolean lookup;
+	private final int shardSize;
+	private final boolean metrics;
+
+	/**
+	 * Constructor
+	 *
+	 * @param b builder
+	 */
+	private GeneratorOptions(Builder b) {
+		this.file = b.file;
+		this.searchClasspath = b.searchClasspath;
+		this.streaming = b.streaming;
+		this.parallel = b.parallel;
+		this.namespace = b.namespace;
+		this.shortName = b.shortName;
+		this.longName = b.longName;
+		this.prefix = b.prefix;
+		this.doc = b.doc;
+		this.author = b.author;
+		this.copyright = b.copyright;
+		this.targets = List.copyOf(Main.getTargets(b.templates, b.javaPackage, b.outputDir.getPath(),
+													b.templatePackages, b.templateOutputDirs));
+		this.snakeCase = b.snakeCase;
+		this.labelSources = List.copyOf(LabelIndex.getSources(b.labelSources));
+		this.languages = List.copyOf(LabelIndex.getLanguages(b.languages));
+		this.emitter = b.emitter;
+		this.lookup = b.lookup;
+		this.shardSize = b.shardSize;
+		this.metrics = b.metrics;
+	}
+
+	/**
+	 * Get a new builder
+	 *
+	 * @return builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Get the ontology file
+	 *
+	 * @return file name
+	 */
+	public String getFile() {
+		return file;
+	}
+
+	/**
+	 * Check if the ontology file is looked up on the classpath first
+	 *
+	 * @return true if classpath is searched first
+	 */
+	public boolean isSearchClasspath() {
+		return searchClasspath;
+	}
+
+	/**
+	 * Check if only the triples needed for generation are kept while parsing
+	 *
+	 * @return true if streaming
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * Get the number of threads for parsing N-Triples and N-Quads files
+	 *
+	 * @return number of threads, or 0 to parse sequentially
+	 */
+	public int getParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Get the namespace
+	 *
+	 * @return namespace URI as string
+	 */
+	public String getNamespace() {
+		return namespace;
+	}
+
+	/**
+	 * Get the short name, also used as name of the java class
+	 *
+	 * @return short name
+	 */
+	public String getShortName() {
+		return shortName;
+	}
+
+	/**
+	 * Get the copyright snippet
+	 *
+	 * @return copyright or null
+	 */
+	public String getCopyright() {
+		return copyright;
+	}
+
+	/**
+	 * Get the templates to render, with their java package and output directory
+	 *
+	 * @return unmodifiable list
+	 */
+	List<Main.Target> getTargets() {
+		return targets;
+	}
+
+	/**
+	 * Check if constants use all caps snake case
+	 *
+	 * @return true if snake case
+	 */
+	public boolean isSnakeCase() {
+		return snakeCase;
+	}
+
+	/**
+	 * Get the label properties used for javadoc, in order of preference
+	 *
+	 * @return unmodifiable list
+	 */
+	public List<IRI> getLabelSources() {
+		return labelSources;
+	}
+
+	/**
+	 * Get the preferred label languages
+	 *
+	 * @return unmodifiable list, possibly empty
+	 */
+	public List<String> getLanguages() {
+		return languages;
+	}
+
+	/**
+	 * Check if the built-in emitter is used instead of freemarker
+	 *
+	 * @return true if emitter is used
+	 */
+	public boolean isEmitter() {
+		return emitter;
+	}
+
+	/**
+	 * Check if the reverse lookup is generated
+	 *
+	 * @return true if lookup is generated
+	 */
+	public boolean isLookup() {
+		return lookup;
+	}
+
+	/**
+	 * Get the maximum number of constants per shard
+	 *
+	 * @return shard size, or 0 when not sharded
+	 */
+	public int getShardSize() {
+		return shardSize;
+	}
+
+	/**
+	 * Check if timing, memory and counters are recorded per phase
+	 *
+	 * @return true if metrics are recorded
+	 */
+	public boolean isMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Get a new map with the data common to all templates
+	 *
+	 * @return template data
+	 */
+	Map getData() {
+		Map m = new HashMap();
+		if (author != null) {
+			m.put("author", author);
+		}
+		m.put("fullname", longName);
+		m.put("url", doc);
+		m.put("nsAlias", shortName);
+		m.put("prefix", prefix);
+		m.put("nsURL", namespace);
+		m.put("copyright", copyright);
+		if (lookup) {
+			m.put("lookup", Boolean.TRUE);
+		}
+		return m;
+	}
+
+	/**
+	 * Builder for generator options
+	 */
+	public static class Builder {
+		private String file;
+		private boolean searchClasspath;
+		private boolean streaming;
+		private int parallel;
+		private String namespace;
+		private String shortName;
+		private String longName;
+		private String prefix;
+		private String doc;
+		private String author;
+		private String copyright;
+		private String templates;
+		private String javaPackage = "org.eclipse.rdf4j.model.vocabulary";
+		private File outputDir = new File(".");
+		private String templatePackages;
+		private String templateOutputDirs;
+		private boolean snakeCase;
+		private String labelSources;
+		private String languages;
+		private boolean emitter;
+		private boolean lookup;
+		private int shardSize;
+		private boolean metrics;
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the ontology file, optionally gzip or zip compressed
+		 *
+		 * @param file file name
+		 * @return builder
+		 */
+		public Builder file(String file) {
+			this.file = file;
+			return this;
+		}
+
+		/**
+		 * Look for the ontology and copyright files on the classpath first
+		 *
+		 * @param searchClasspath true to search classpath first
+		 * @return builder
+		 */
+		public Builder searchClasspath(boolean searchClasspath) {
+			this.searchClasspath = searchClasspath;
+			return this;
+		}
+
+		/**
+		 * Only keep the triples needed for generation while parsing
+		 *
+		 * @param streaming true to stream
+		 * @return builder
+		 */
+		public Builder streaming(boolean streaming) {
+			this.streaming = streaming;
+			return this;
+		}
+
+		/**
+		 * Parse N-Triples and N-Quads files in chunks
+		 *
+		 * @param parallel number of threads, or 0 to parse sequentially
+		 * @return builder
+		 */
+		public Builder parallel(int parallel) {
+			this.parallel = parallel;
+			return this;
+		}
+
+		/**
+		 * Set the namespace
+		 *
+		 * @param namespace namespace URI as string
+		 * @return builder
+		 */
+		public Builder namespace(String namespace) {
+			this.namespace = namespace;
+			return this;
+		}
+
+		/**
+		 * Set the short name, also used as name of the java class
+		 *
+		 * @param shortName short name
+		 * @return builder
+		 */
+		public Builder shortName(String shortName) {
+			this.shortName = shortName;
+			return this;
+		}
+
+		/**
+		 * Set the long name
+		 *
+		 * @param longName long name
+		 * @return builder
+		 */
+		public Builder longName(String longName) {
+			this.longName = longName;
+			return this;
+		}
+
+		/**
+		 * Set the namespace prefix
+		 *
+		 * @param prefix prefix
+		 * @return builder
+		 */
+		public Builder prefix(String prefix) {
+			this.prefix = prefix;
+			return this;
+		}
+
+		/**
+		 * Set the documentation URL
+		 *
+		 * @param doc URL as string
+		 * @return builder
+		 */
+		public Builder doc(String doc) {
+			this.doc = doc;
+			return this;
+		}
+
+		/**
+		 * Set the name of the java class author
+		 *
+		 * @param author author or null
+		 * @return builder
+		 */
+		public Builder author(String author) {
+			this.author = author;
+			return this;
+		}
+
+		/**
+		 * Set the copyright snippet
+		 *
+		 * @param copyright copyright or null
+		 * @return builder
+		 */
+		public Builder copyright(String copyright) {
+			this.copyright = copyright;
+			return this;
+		}
+
+		/**
+		 * Set the templates
+		 *
+		 * @param templates comma separated list of rdf4j, jena, plain, dictionary, or all
+		 * @return builder
+		 */
+		public Builder templates(String templates) {
+			this.templates = templates;
+			return this;
+		}
+
+		/**
+		 * Set the java package
+		 *
+		 * @param javaPackage package name
+		 * @return builder
+		 */
+		public Builder javaPackage(String javaPackage) {
+			this.javaPackage = javaPackage;
+			return this;
+		}
+
+		/**
+		 * Set the output directory
+		 *
+		 * @param outputDir directory
+		 * @return builder
+		 */
+		public Builder outputDir(File outputDir) {
+			this.outputDir = outputDir;
+			return this;
+		}
+
+		/**
+		 * Set the java package per template
+		 *
+		 * @param templatePackages comma separated template=package pairs, or null
+		 * @return builder
+		 */
+		public Builder templatePackages(String templatePackages) {
+			this.templatePackages = templatePackages;
+			return this;
+		}
+
+		/**
+		 * Set the output directory per template
+		 *
+		 * @param templateOutputDirs comma separated template=directory pairs, or null
+		 * @return builder
+		 */
+		public Builder templateOutputDirs(String templateOutputDirs) {
+			this.templateOutputDirs = templateOutputDirs;
+			return this;
+		}
+
+		/**
+		 * Use all caps snake case constants instead of as-is local names
+		 *
+		 * @param snakeCase true for snake case
+		 * @return builder
+		 */
+		public Builder snakeCase(boolean snakeCase) {
+			this.snakeCase = snakeCase;
+			return this;
+		}
+
+		/**
+		 * Set the label sources for javadoc
+		 *
+		 * @param labelSources comma separated list of label, prefLabel, comment, or null for label
+		 * @return builder
+		 */
+		public Builder labelSources(String labelSources) {
+			this.labelSources = labelSources;
+			return this;
+		}
+
+		/**
+		 * Set the preferred label languages
+		 *
+		 * @param languages comma separated language codes, or null
+		 * @return builder
+		 */
+		public Builder languages(String languages) {
+			this.languages = languages;
+			return this;
+		}
+
+		/**
+		 * Use the built-in emitter instead of freemarker
+		 *
+		 * @param emitter true to use the emitter
+		 * @return builder
+		 */
+		public Builder emitter(boolean emitter) {
+			this.emitter = emitter;
+			return this;
+		}
+
+		/**
+		 * Generate the reverse lookup
+		 *
+		 * @param lookup true to generate lookup
+		 * @return builder
+		 */
+		public Builder lookup(boolean lookup) {
+			this.lookup = lookup;
+			return this;
+		}
+
+		/**
+		 * Split the constants over interfaces of at most this number of constants
+		 *
+		 * @param shardSize shard size, or 0 to not shard
+		 * @return builder
+		 */
+		public Builder shardSize(int shardSize) {
+			this.shardSize = shardSize;
+			return this;
+		}
+
+		/**
+		 * Record timing, memory and counters per phase
+		 *
+		 * @param metrics true to record metrics
+		 * @return builder
+		 */
+		public Builder metrics(boolean metrics) {
+			this.metrics = metrics;
+			return this;
+		}
+
+		/**
+		 * Build the options
+		 *
+		 * @return immutable options
+		 * @throws IllegalArgumentException when a setting is missing or invalid
+		 */
+		public GeneratorOptions build() {
+			if (file == null || namespace == null || shortName == null || templates == null || outputDir == null) {
+				throw new IllegalArgumentException("File, namespace, short name, templates and output directory are required");
+			}
+			if (shardSize < 0) {
+				throw new IllegalArgumentException("Shard size must not be negative");
+			}
+			if (parallel < 0) {
+				throw new IllegalArgumentException("Number of parser threads must not be negative");
+			}
+			return new GeneratorOptions(this);
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class or property hierarchy, to find all (transitive) subclasses or subproperties.
+ *
+ * The reverse adjacency lists are built once, using dense integer IDs,
+ * so the closure is a breadth-first walk in linear time.
+ *
+ * @author Bart.Hanssens
+ */
+class Hierarchy {
+	private final Map<Resource,Integer> ids = new HashMap<>();
+	private final List<Resource> nodes = new ArrayList<>();
+	// children of node i are children[offsets[i]] ... children[offsets[i+1]-1]
+	private int[] offsets;
+	private int[] children;
+
+	private Hierarchy() {
+	}
+
+	/**
+	 * Get or assign the ID of a resource
+	 *
+	 * @param r resource
+	 * @return ID
+	 */
+	private int id(Resource r) {
+		Integer id = ids.get(r);
+		if (id == null) {
+			id = nodes.size();
+			ids.put(r, id);
+			nodes.add(r);
+		}
+		return id;
+	}
+
+	/**
+	 * Build the hierarchy
+	 *
+	 * @param m model
+	 * @param predicate rdfs:subClassOf or rdfs:subPropertyOf
+	 * @return hierarchy
+	 */
+	static Hierarchy build(Model m, IRI predicate) {
+		Hierarchy h = new Hierarchy();
+
+		int[] subs = new int[16];
+		int[] supers = new int[16];
+		int edges = 0;
+		for (Statement st: m.getStatements(null, predicate, null)) {
+			if (!st.getObject().isResource()) {
+				continue;
+			}
+			if (edges == subs.length) {
+				subs = Arrays.copyOf(subs, edges * 2);
+				supers = Arrays.copyOf(supers, edges * 2);
+			}
+			subs[edges] = h.id(st.getSubject());
+			supers[edges] = h.id((Resource) st.getObject());
+			edges++;
+		}
+
+		// counting sort of the edges on the super class / property
+		int n = h.nodes.size();
+		h.offsets = new int[n + 1];
+		for (int i = 0; i < edges; i++) {
+			h.offsets[supers[i] + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			h.offsets[i + 1] += h.offsets[i];
+		}
+		int[] pos = Arrays.copyOf(h.offsets, n);
+		h.children = new int[edges];
+		for (int i = 0; i < edges; i++) {
+			h.children[pos[supers[i]]++] = subs[i];
+		}
+		return h;
+	}
+
+	/**
+	 * Get all direct and indirect subclasses or subproperties
+	 *
+	 * @param seeds classes or properties
+	 * @return set of subclasses or subproperties, without the seeds
+	 */
+	Set<Resource> descendants(Collection<Resource> seeds) {
+		BitSet visited = new BitSet(nodes.size());
+		int[] queue = new int[nodes.size()];
+		int head = 0;
+		int tail = 0;
+
+		for (Resource seed: seeds) {
+			Integer id = ids.get(seed);
+			if (id != null && !visited.get(id)) {
+				visited.set(id);
+				queue[tail++] = id;
+			}
+		}
+		Set<Resource> res = new HashSet<>();
+		while (head < tail) {
+			int node = queue[head++];
+			for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+				int child = children[i];
+				if (!visited.get(child)) {
+					visited.set(child);
+					queue[tail++] = child;
+					res.add(nodes.get(child));
+				}
+			}
+		}
+		return res;
+	}
+}
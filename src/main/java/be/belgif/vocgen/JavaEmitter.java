@@ -0,0 +1,740 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Writes the java source of the built-in templates directly, without freemarker.
+ *
+ * The output is byte-for-byte identical to the rdf4j, jena and plain templates,
+ * so any change to these templates must be applied here as well.
+ *
+ * @author Bart.Hanssens
+ */
+class JavaEmitter {
+	private final Writer w;
+	private final Map root;
+	private final String alias;
+	private final String ns;
+	private final boolean lookup;
+	private final List<Map<String,Map<String,Constant>>> shards;
+
+	/**
+	 * Constructor
+	 *
+	 * @param root template data
+	 * @param w writer
+	 */
+	@SuppressWarnings("unchecked")
+	private JavaEmitter(Map root, Writer w) {
+		this.w = w;
+		this.root = root;
+		this.alias = str("nsAlias");
+		this.ns = str("nsURL");
+		this.lookup = root.get("lookup") != null;
+		this.shards = (List<Map<String,Map<String,Constant>>>) root.get("shards");
+	}
+
+	/**
+	 * Check if the emitter can write a template
+	 *
+	 * @param template template type
+	 * @return true for the rdf4j, jena and plain templates
+	 */
+	static boolean supports(Main.TemplateType template) {
+		return template != Main.TemplateType.DICTIONARY;
+	}
+
+	/**
+	 * Write java source
+	 *
+	 * @param template template type
+	 * @param root template data
+	 * @param w writer
+	 * @throws IOException
+	 */
+	static void emit(Main.TemplateType template, Map root, Writer w) throws IOException {
+		JavaEmitter e = new JavaEmitter(root, w);
+		switch (template) {
+			case RDF4J: e.rdf4j(); break;
+			case JENA: e.jena(); break;
+			case PLAIN: e.plain(); break;
+			default: throw new IllegalArgumentException("No built-in emitter for " + template);
+		}
+	}
+
+	/**
+	 * Write strings
+	 *
+	 * @param strs strings
+	 * @throws IOException
+	 */
+	private void write(String... strs) throws IOException {
+		for (String s: strs) {
+			w.write(s);
+		}
+	}
+
+	/**
+	 * Get value from template data
+	 *
+	 * @param key key
+	 * @return value as string
+	 */
+	private String str(String key) {
+		return String.valueOf(root.get(key));
+	}
+
+	/**
+	 * Get the map of constants from the template data
+	 *
+	 * @param map template data or shard
+	 * @param key key
+	 * @return map of local names and constants
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String,Constant> constants(Map map, String key) {
+		return (Map<String,Constant>) map.get(key);
+	}
+
+	/**
+	 * Write copyright (if any), package and imports needed by the lookup
+	 *
+	 * @param indent indentation of the copyright
+	 * @throws IOException
+	 */
+	private void header(String indent) throws IOException {
+		Object copyright = root.get("copyright");
+		if (copyright != null) {
+			write(indent, copyright.toString(), "\n");
+		}
+		write("package ", str("package"), ";\n\n");
+		if (lookup) {
+			if (shards != null) {
+				write("import java.util.Arrays;\n");
+			}
+			write("import java.util.Set;\n");
+			if (shards != null) {
+				write("import java.util.stream.Collectors;\n",
+					"import java.util.stream.Stream;\n");
+			}
+			write("\n");
+		}
+	}
+
+	/**
+	 * Write class declaration, implementing the shards (if any)
+	 *
+	 * @throws IOException
+	 */
+	private void declaration() throws IOException {
+		write("public class ", alias);
+		if (shards != null) {
+			write(" implements ");
+			for (int i = 0; i < shards.size(); i++) {
+				write(i > 0 ? ", " : "", alias, "_Shard", Integer.toString(i));
+			}
+			if (lookup) {
+				write(", ", alias, "_Sets");
+			}
+		}
+		write(" {\n");
+	}
+
+	/**
+	 * Write javadoc and deprecation annotation of a constant
+	 *
+	 * @param c constant
+	 * @param docIndent indentation of the javadoc
+	 * @param indent indentation of the annotation
+	 * @throws IOException
+	 */
+	private void doc(Constant c, String docIndent, String indent) throws IOException {
+		if (c.getReplacedBy() != null) {
+			write(docIndent, "/**\n",
+				docIndent, " * <code>", c.getLabel(), "</code>\n",
+				docIndent, " *\n",
+				docIndent, " * @deprecated replaced by <code>", c.getReplacedBy(), "</code>\n",
+				docIndent, " */\n");
+		} else if (c.getLabel() != null) {
+			write(docIndent, "/** <code>", c.getLabel(), "</code> **/\n");
+		}
+		if (c.isDeprecated()) {
+			write(indent, "@Deprecated\n");
+		}
+	}
+
+	/**
+	 * Write constants
+	 *
+	 * @param constants map of local names and constants
+	 * @param docIndent indentation of the javadoc
+	 * @param indent indentation of the field
+	 * @param type java type of the field
+	 * @param before initializer before the local name
+	 * @param after initializer after the local name
+	 * @param sep separator after each constant
+	 * @throws IOException
+	 */
+	private void fields(Map<String,Constant> constants, String docIndent, String indent, String type,
+						String before, String after, String sep) throws IOException {
+		for (Map.Entry<String,Constant> e: constants.entrySet()) {
+			Constant c = e.getValue();
+			doc(c, docIndent, indent);
+			write(indent, "public static final ", type, " ", c.getName(), " = ", before, e.getKey(), after, ";\n", sep);
+		}
+	}
+
+	/**
+	 * Write a comma separated list, one item per line
+	 *
+	 * @param items items
+	 * @param indent indentation
+	 * @throws IOException
+	 */
+	private void items(Iterable<String> items, String indent) throws IOException {
+		Iterator<String> it = items.iterator();
+		while (it.hasNext()) {
+			write(indent, it.next(), it.hasNext() ? ",\n" : "\n");
+		}
+	}
+
+	/**
+	 * Get the names of the constants
+	 *
+	 * @param constants map of local names and constants
+	 * @return names
+	 */
+	private static Iterable<String> names(Map<String,Constant> constants) {
+		return () -> constants.values().stream().map(Constant::getName).iterator();
+	}
+
+	/**
+	 * Write immutable sets of all classes, properties and individuals
+	 *
+	 * @param indent indentation
+	 * @param types java types of the classes, properties and individuals
+	 * @throws IOException
+	 */
+	private void sets(String indent, String... types) throws IOException {
+		for (int i = 0; i < SETS.length; i++) {
+			if (i > 0) {
+				write("\n");
+			}
+			write(indent, "/**\n",
+				indent, " * Immutable set of all ", SETS[i][2], "\n",
+				indent, " */\n",
+				indent, "public static final Set<", types[i], "> ", SETS[i][0], " = Set.of(\n");
+			items(names(constants(root, SETS[i][1])), indent + indent);
+			write(indent, ");\n");
+		}
+	}
+
+	/**
+	 * Names of the sets, the maps in the template data and the description
+	 */
+	private static final String[][] SETS = {
+		{ "CLASSES", "classMap", "classes" },
+		{ "PROPERTIES", "propMap", "properties" },
+		{ "INDIVIDUALS", "indivMap", "individuals" }
+	};
+
+	/**
+	 * Section titles of the classes, properties and individuals
+	 */
+	private static final String[] TITLES = { "Classes", "Properties", "Individuals" };
+
+	/**
+	 * Write javadoc and signature of a lookup method
+	 *
+	 * @param indent indentation
+	 * @param type java return type
+	 * @param spec lookup method specification
+	 * @throws IOException
+	 */
+	private void lookupSignature(String indent, String type, Lookup spec) throws IOException {
+		String indent2 = indent + indent;
+		write(indent, "/**\n",
+			indent, " * Get the constant for ", spec.what, ", without reflection or allocation\n",
+			indent, " *\n",
+			indent, " * @param ", spec.arg, " ", spec.argDoc, "\n",
+			indent, " * @return constant or null when not part of this vocabulary\n",
+			indent, " */\n",
+			indent, "public static ", type, " ", spec.method, "(", spec.argType, " ", spec.arg, ") {\n",
+			indent2, "if (", spec.arg, " == null) {\n",
+			indent2, indent, "return null;\n",
+			indent2, "}\n");
+	}
+
+	/**
+	 * Write a switch statement, returning the constant of a (local) name
+	 *
+	 * @param indent indentation of the method
+	 * @param expr expression used in the switch
+	 * @param prefix namespace to prepend to the local names, if any
+	 * @param lookupMap map of local names and constants
+	 * @param qualifier qualifier of the constants, if any
+	 * @throws IOException
+	 */
+	private void lookupSwitch(String indent, String expr, String prefix, Map<String,Constant> lookupMap,
+							String qualifier) throws IOException {
+		String indent2 = indent + indent;
+		String indent3 = indent2 + indent;
+		write(indent2, "switch (", expr, ") {\n");
+		for (Map.Entry<String,Constant> e: lookupMap.entrySet()) {
+			write(indent3, "case \"", prefix, e.getKey(), "\": return ", qualifier, e.getValue().getName(), ";\n");
+		}
+		write(indent3, "default: return null;\n",
+			indent2, "}\n",
+			indent, "}\n");
+	}
+
+	/**
+	 * Write a lookup method, using a string switch on the (local) name
+	 *
+	 * @param indent indentation
+	 * @param type java return type
+	 * @param spec lookup method specification
+	 * @throws IOException
+	 */
+	private void lookup(String indent, String type, Lookup spec) throws IOException {
+		lookupSignature(indent, type, spec);
+		lookupSwitch(indent, spec.expr, spec.prefix, constants(root, "lookupMap"), "");
+	}
+
+	/**
+	 * Write the lookup methods of a sharded class, which delegate to the lookup shards
+	 *
+	 * @param indent indentation
+	 * @param type java return type
+	 * @param extra extra method to add after the lookup methods, if any
+	 * @param specs lookup method specifications
+	 * @throws IOException
+	 */
+	private void shardedLookup(String indent, String type, String extra, Lookup... specs) throws IOException {
+		String indent2 = indent + indent;
+		String indent3 = indent2 + indent;
+		List<Map<String,Object>> lookupShards = lookupShards();
+
+		write(indent, "// Lookup\n");
+		for (String arr: new String[] { "LOOKUP_NAMES", "LOOKUP_IRIS" }) {
+			String prefix = arr.equals("LOOKUP_NAMES") ? "" : ns;
+			write(indent, "private static final String[] ", arr, " = {\n");
+			items(() -> lookupShards.stream().map(s -> "\"" + prefix + s.get("first") + "\"").iterator(), indent2);
+			write(indent, "};\n\n");
+		}
+		for (Lookup spec: specs) {
+			lookupSignature(indent, type, spec);
+			String key = spec.arg;
+			if (!spec.expr.equals(spec.arg)) {
+				key = "str";
+				write(indent2, "String str = ", spec.expr, ";\n");
+			}
+			write(indent2, "switch (lookupShard(", spec.prefix.isEmpty() ? "LOOKUP_NAMES" : "LOOKUP_IRIS", ", ", key, ")) {\n");
+			for (int i = 0; i < lookupShards.size(); i++) {
+				String idx = Integer.toString(i);
+				write(indent3, "case ", idx, ": return ", alias, "_Lookup", idx, ".", spec.method, "(", key, ");\n");
+			}
+			write(indent3, "default: return null;\n",
+				indent2, "}\n",
+				indent, "}\n",
+				"\n");
+		}
+		write(extra,
+			indent, "/**\n",
+			indent, " * Get the lookup shard that may contain a key, using the first key of each shard\n",
+			indent, " *\n",
+			indent, " * @param first sorted first keys\n",
+			indent, " * @param key key\n",
+			indent, " * @return index of the shard or -1\n",
+			indent, " */\n",
+			indent, "private static int lookupShard(String[] first, String key) {\n",
+			indent2, "int i = Arrays.binarySearch(first, key);\n",
+			indent2, "return (i >= 0) ? i : -i - 2;\n",
+			indent, "}\n");
+	}
+
+	/**
+	 * Get the shards of the reverse lookup
+	 *
+	 * @return list of shards
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Map<String,Object>> lookupShards() {
+		return (List<Map<String,Object>>) root.get("lookupShards");
+	}
+
+	/**
+	 * Write the shard interfaces with the constants, and the sets and lookup shards (if any)
+	 *
+	 * @param indent indentation
+	 * @param pre string to write before each interface
+	 * @param post string to write after each interface
+	 * @param rowSep separator after each constant
+	 * @param sectionSep separator after each section of constants
+	 * @param types java types of the classes, properties and individuals
+	 * @param before initializers before the local name of classes, properties and individuals
+	 * @param after initializer after the local name
+	 * @param lookupType java return type of the lookup
+	 * @param specs lookup method specifications
+	 * @throws IOException
+	 */
+	private void shards(String indent, String pre, String post, String rowSep, String sectionSep, String[] types,
+						String[] before, String after, String lookupType, Lookup... specs) throws IOException {
+		String indent2 = indent + indent;
+		String indent3 = indent2 + indent;
+		String size = Integer.toString(shards.size());
+
+		for (int i = 0; i < shards.size(); i++) {
+			Map<String,Map<String,Constant>> shard = shards.get(i);
+			write(pre, "/**\n",
+				" * Part ", Integer.toString(i + 1), " of ", size, " of the constants of {@link ", alias, "}\n",
+				" */\n",
+				"interface ", alias, "_Shard", Integer.toString(i), " {\n");
+			for (int j = 0; j < SETS.length; j++) {
+				Map<String,Constant> constants = shard.get(SETS[j][1]);
+				if (!constants.isEmpty()) {
+					write(indent, "// ", TITLES[j], "\n");
+					fields(constants, "    ", indent, types[j], before[j], after, rowSep);
+					write(sectionSep);
+				}
+			}
+			if (lookup) {
+				for (int j = 0; j < SETS.length; j++) {
+					write(j > 0 ? "\n" : "",
+						indent, "static Stream<", types[j], "> ", SETS[j][2], "() {\n",
+						indent2, "return Stream.of(\n");
+					items(names(shard.get(SETS[j][1])), indent3);
+					write(indent2, ");\n",
+						indent, "}\n");
+				}
+			}
+			write("}\n", post);
+		}
+		if (!lookup) {
+			return;
+		}
+
+		write(pre, "/**\n",
+			" * Immutable sets of all terms of {@link ", alias, "}\n",
+			" */\n",
+			"interface ", alias, "_Sets {\n");
+		for (int j = 0; j < SETS.length; j++) {
+			String method = SETS[j][2];
+			write(j > 0 ? "\n" : "",
+				indent, "/**\n",
+				indent, " * Immutable set of all ", method, "\n",
+				indent, " */\n",
+				indent, "public static final Set<", types[j], "> ", SETS[j][0], " = Stream.of(\n");
+			items(() -> IntStream.range(0, shards.size())
+							.mapToObj(i -> alias + "_Shard" + i + "." + method + "()").iterator(), indent2);
+			write(indent, ").flatMap(s -> s).collect(Collectors.toUnmodifiableSet());\n");
+		}
+		write("}\n", post);
+
+		List<Map<String,Object>> lookupShards = lookupShards();
+		for (int i = 0; i < lookupShards.size(); i++) {
+			write(pre, "/**\n",
+				" * Part ", Integer.toString(i + 1), " of ", Integer.toString(lookupShards.size()),
+				" of the reverse lookup of {@link ", alias, "}\n",
+				" */\n",
+				"interface ", alias, "_Lookup", Integer.toString(i), " {\n");
+			for (int j = 0; j < specs.length; j++) {
+				write(j > 0 ? "\n" : "",
+					indent, "static ", lookupType, " ", specs[j].method, "(String ", specs[j].arg, ") {\n");
+				lookupSwitch(indent, specs[j].arg, specs[j].prefix, constants(lookupShards.get(i), "lookupMap"), alias + ".");
+			}
+			write("}\n", post);
+		}
+	}
+
+	/**
+	 * Write RDF4J class
+	 *
+	 * @throws IOException
+	 */
+	private void rdf4j() throws IOException {
+		String fullname = str("fullname");
+		Lookup[] specs = {
+			new Lookup("fromLocalName", "String", "localName", "local name", "a local name", "localName", ""),
+			new Lookup("fromIri", "IRI", "iri", "IRI", "an IRI", "iri.stringValue()", ns)
+		};
+
+		header("");
+		write("import org.eclipse.rdf4j.model.IRI;\n",
+			"import org.eclipse.rdf4j.model.Namespace;\n",
+			"import org.eclipse.rdf4j.model.ValueFactory;\n",
+			"import org.eclipse.rdf4j.model.impl.SimpleNamespace;\n",
+			"import org.eclipse.rdf4j.model.impl.SimpleValueFactory;\n",
+			"\n\n",
+			"/**\n",
+			" * Constants for the ", fullname, ".\n",
+			" *\n",
+			" * @see <a href=\"", str("url"), "\">", fullname, "</a>\n",
+			" * ");
+		if (root.get("author") != null) {
+			write("\n *\t@author ", str("author"), " ");
+		}
+		write("\n */\n");
+		declaration();
+		write("\t/**\n",
+			"\t * The ", alias, " namespace: ", ns, "\n",
+			"\t */\n",
+			"\tpublic static final String NAMESPACE = \"", ns, "\";\n",
+			"\n",
+			"\t/**\n",
+			"\t * Recommended prefix for the namespace: \"", str("prefix"), "\"\n",
+			"\t */\n",
+			"\tpublic static final String PREFIX = \"", str("prefix"), "\";\n",
+			"\n",
+			"\t/**\n",
+			"\t * An immutable {@link Namespace} constant that represents the namespace.\n",
+			"\t */\n",
+			"\tpublic static final Namespace NS = new SimpleNamespace(PREFIX, NAMESPACE);\n",
+			"\n");
+
+		if (shards == null) {
+			write("\t// Classes\n");
+			fields(constants(root, "classMap"), "    ", "\t", "IRI", "create(\"", "\")", "\n");
+			write("\n\t// Properties\n");
+			fields(constants(root, "propMap"), "    ", "\t", "IRI", "create(\"", "\")", "\n");
+			write("\n\t// Individuals\n");
+			fields(constants(root, "indivMap"), "    ", "\t", "IRI", "create(\"", "\")", "\n");
+			write("\n");
+
+			if (lookup) {
+				write("\t// Lookup\n");
+				sets("\t", "IRI", "IRI", "IRI");
+				write("\n");
+				lookup("\t", "IRI", specs[0]);
+				write("\n");
+				lookup("\t", "IRI", specs[1]);
+				write("\n");
+			}
+		} else if (lookup) {
+			shardedLookup("\t", "IRI", "", specs);
+			write("\n");
+		}
+
+		write("\t", shards == null ? "private static" : "static", " IRI create(String localName) {\n",
+			"\t\treturn SimpleValueFactory.getInstance().createIRI(", alias, ".NAMESPACE, localName);\n",
+			"\t}\n",
+			"}\n",
+			"\n");
+
+		if (shards != null) {
+			String create = alias + ".create(\"";
+			shards("\t", "", "\n", "\n", "", new String[] { "IRI", "IRI", "IRI" },
+					new String[] { create, create, create }, "\")", "IRI", specs);
+		}
+	}
+
+	/**
+	 * Write Jena class
+	 *
+	 * @throws IOException
+	 */
+	private void jena() throws IOException {
+		String fullname = str("fullname");
+		Lookup[] specs = {
+			new Lookup("fromLocalName", "String", "localName", "local name", "a local name", "localName", ""),
+			new Lookup("fromUri", "String", "uri", "URI", "a URI", "uri", ns)
+		};
+		String fromResource = "    /**\n"
+			+ "     * Get the constant for a resource, without reflection or allocation\n"
+			+ "     *\n"
+			+ "     * @param resource resource\n"
+			+ "     * @return constant or null when not part of this vocabulary\n"
+			+ "     */\n"
+			+ "    public static Resource fromResource(Resource resource) {\n"
+			+ "        return (resource == null) ? null : fromUri(resource.getURI());\n"
+			+ "    }\n";
+
+		header("    ");
+		write("import org.apache.jena.rdf.model.Model;\n",
+			"import org.apache.jena.rdf.model.ModelFactory;\n",
+			"import org.apache.jena.rdf.model.Individual;\n",
+			"import org.apache.jena.rdf.model.Property;\n",
+			"import org.apache.jena.rdf.model.Resource;\n",
+			"\n",
+			"/**\n",
+			" * Constants for the ", fullname, ".\n",
+			" *\n",
+			" * @see <a href=\"", str("url"), "\">", fullname, "</a>\n",
+			" */\n");
+		declaration();
+		write("    ", shards == null ? "private static" : "static", " final Model m = ModelFactory.createDefaultModel();\n",
+			"\n",
+			"    /**\n",
+			"     * The ", alias, " namespace: ", ns, "\n",
+			"     */\n",
+			"    public static final String NS = \"", ns, "\";\n",
+			"    public static final Resource NAMESPACE = m.createResource(NS);\n",
+			"\n");
+		uri();
+
+		if (shards == null) {
+			write("    // Classes\n");
+			fields(constants(root, "classMap"), "    ", "    ", "Resource", "m.createResource(NS + \"", "\")", "");
+			write("\n    // Properties\n");
+			fields(constants(root, "propMap"), "    ", "    ", "Property", "m.createProperty(NS + \"", "\")", "");
+			write("\n    // Individuals\n");
+			fields(constants(root, "indivMap"), "        ", "    ", "Individual", "m.createProperty(NS + \"", "\")", "");
+
+			if (lookup) {
+				write("\n    // Lookup\n");
+				sets("    ", "Resource", "Property", "Individual");
+				write("\n");
+				lookup("    ", "Resource", specs[0]);
+				write("\n");
+				lookup("    ", "Resource", specs[1]);
+				write("\n", fromResource);
+			}
+		} else if (lookup) {
+			shardedLookup("    ", "Resource", fromResource + "\n", specs);
+		}
+		write("}\n");
+
+		if (shards != null) {
+			String prefix = alias + ".m.create";
+			String init = "(" + alias + ".NS + \"";
+			shards("    ", "\n", "", "", "\n", new String[] { "Resource", "Property", "Individual" },
+					new String[] { prefix + "Resource" + init, prefix + "Property" + init, prefix + "Property" + init },
+					"\")", "Resource", specs);
+		}
+	}
+
+	/**
+	 * Write plain java class
+	 *
+	 * @throws IOException
+	 */
+	private void plain() throws IOException {
+		String fullname = str("fullname");
+		Lookup[] specs = {
+			new Lookup("fromLocalName", "String", "localName", "local name", "a local name", "localName", ""),
+			new Lookup("fromIri", "String", "iri", "IRI", "an IRI", "iri", ns)
+		};
+
+		header("    ");
+		write("/**\n",
+			" * Constants for the ", fullname, ".\n",
+			" *\n",
+			" * @see <a href=\"", str("url"), "\">", fullname, "</a>\n",
+			" */\n");
+		declaration();
+		write("\n",
+			"    /**\n",
+			"     * The ", alias, " namespace: ", ns, "\n",
+			"     */\n",
+			"    public static final String NS = \"", ns, "\";\n",
+			"\n");
+		uri();
+
+		if (shards == null) {
+			write("    // Classes\n");
+			fields(constants(root, "classMap"), "    ", "    ", "String", "NS + \"", "\"", "");
+			write("\n    // Properties\n");
+			fields(constants(root, "propMap"), "    ", "    ", "String", "NS + \"", "\"", "");
+			write("\n    // Individuals\n");
+			fields(constants(root, "indivMap"), "    ", "    ", "String", "NS + \"", "\"", "");
+
+			if (lookup) {
+				write("\n    // Lookup\n");
+				sets("    ", "String", "String", "String");
+				write("\n");
+				lookup("    ", "String", specs[0]);
+				write("\n");
+				lookup("    ", "String", specs[1]);
+			}
+		} else if (lookup) {
+			shardedLookup("    ", "String", "", specs);
+		}
+		write("}\n");
+
+		if (shards != null) {
+			String prefix = alias + ".NS + \"";
+			shards("    ", "\n", "", "", "\n", new String[] { "String", "String", "String" },
+					new String[] { prefix, prefix, prefix }, "\"", "String", specs);
+		}
+	}
+
+	/**
+	 * Write getURI method of the Jena and plain classes
+	 *
+	 * @throws IOException
+	 */
+	private void uri() throws IOException {
+		write("    /**\n",
+			"     * Returns the URI for this schema\n",
+			"     * @return URI\n",
+			"     */\n",
+			"    public static String getURI() {\n",
+			"        return NS;\n",
+			"    }\n",
+			"    \n");
+	}
+
+	/**
+	 * Specification of a generated lookup method
+	 */
+	private static class Lookup {
+		private final String method;
+		private final String argType;
+		private final String arg;
+		private final String argDoc;
+		private final String what;
+		private final String expr;
+		private final String prefix;
+
+		/**
+		 * Constructor
+		 *
+		 * @param method method name
+		 * @param argType java type of the argument
+		 * @param arg argument name
+		 * @param argDoc argument description
+		 * @param what description of what is looked up
+		 * @param expr expression used in the switch
+		 * @param prefix namespace to prepend to the local names, if any
+		 */
+		Lookup(String method, String argType, String arg, String argDoc, String what, String expr, String prefix) {
+			this.method = method;
+			this.argType = argType;
+			this.arg = arg;
+			this.argDoc = argDoc;
+			this.what = what;
+			this.expr = expr;
+			this.prefix = prefix;
+		}
+	}
+}
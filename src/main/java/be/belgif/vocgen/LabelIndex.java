@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Labels of all terms, used in the javadoc of the constants.
+ *
+ * The index is built in one go, instead of looking up the labels for each term.
+ * Without language preference, all labels are joined with " or ".
+ * Otherwise, the label in the first preferred language is used, then an untagged label, then any label.
+ *
+ * @author Bart.Hanssens
+ */
+public class LabelIndex {
+	/**
+	 * Properties that can be used as label source, by name
+	 */
+	public static final Map<String,IRI> SOURCES = Map.of(
+		"label", RDFS.LABEL,
+		"prefLabel", SKOS.PREF_LABEL,
+		"comment", RDFS.COMMENT);
+
+	public static final List<IRI> DEFAULT_SOURCES = List.of(RDFS.LABEL);
+
+	private final Map<Resource,String> labels = new HashMap<>();
+
+	/**
+	 * Label candidates for one term
+	 */
+	private static class Candidate {
+		private int rank = Integer.MAX_VALUE;
+		private String best;
+		private final Set<String> all = new LinkedHashSet<>();
+	}
+
+	/**
+	 * Get label property IRIs by name
+	 *
+	 * @param names comma separated names (label, prefLabel, comment)
+	 * @return list of IRIs
+	 * @throws IllegalArgumentException when name is unknown
+	 */
+	public static List<IRI> getSources(String names) {
+		if (names == null) {
+			return DEFAULT_SOURCES;
+		}
+		List<IRI> sources = new ArrayList<>();
+		for (String name: names.split(",")) {
+			IRI iri = SOURCES.get(name.trim());
+			if (iri == null) {
+				throw new IllegalArgumentException("Unknown label source " + name + ", expected one of " + SOURCES.keySet());
+			}
+			sources.add(iri);
+		}
+		return sources;
+	}
+
+	/**
+	 * Get list of preferred languages
+	 *
+	 * @param langs comma separated language codes, or null
+	 * @return list of lowercase language codes, possibly empty
+	 */
+	public static List<String> getLanguages(String langs) {
+		List<String> res = new ArrayList<>();
+		if (langs != null) {
+			for (String lang: langs.split(",")) {
+				if (!lang.isBlank()) {
+					res.add(lang.trim().toLowerCase(Locale.ROOT));
+				}
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Build label index
+	 *
+	 * @param m model
+	 * @param sources properties to use as label, in order of preference
+	 * @param langs preferred languages in order of preference, or empty list to use all labels
+	 * @return label index
+	 */
+	public static LabelIndex build(Model m, List<IRI> sources, List<String> langs) {
+		LabelIndex index = new LabelIndex();
+		for (IRI source: sources) {
+			Map<Resource,Candidate> candidates = new HashMap<>();
+			for (Statement st: m.getStatements(null, source, null)) {
+				// a previous, more preferred source already has a label
+				if (index.labels.containsKey(st.getSubject()) || !st.getObject().isLiteral()) {
+					continue;
+				}
+				Literal l = (Literal) st.getObject();
+				Candidate c = candidates.computeIfAbsent(st.getSubject(), k -> new Candidate());
+				if (langs.isEmpty()) {
+					c.all.add(l.getLabel());
+				} else {
+					int rank = rank(l, langs);
+					if (rank < c.rank) {
+						c.rank = rank;
+						c.best = l.getLabel();
+					}
+				}
+			}
+			candidates.forEach((subj, c) -> index.labels.put(subj,
+						clean(langs.isEmpty() ? String.join(" or ", c.all) : c.best)));
+		}
+		return index;
+	}
+
+	/**
+	 * Rank a label according to the language preferences: lower is better
+	 *
+	 * @param l literal
+	 * @param langs preferred languages
+	 * @return rank
+	 */
+	private static int rank(Literal l, List<String> langs) {
+		if (l.getLanguage().isEmpty()) {
+			return langs.size();
+		}
+		String lang = l.getLanguage().get().toLowerCase(Locale.ROOT);
+		for (int i = 0; i < langs.size(); i++) {
+			String pref = langs.get(i);
+			// "en" also matches "en-GB"
+			if (lang.equals(pref) || lang.startsWith(pref + "-")) {
+				return i;
+			}
+		}
+		return langs.size() + 1;
+	}
+
+	/**
+	 * Make label safe for use in a one-line javadoc comment
+	 *
+	 * @param s label
+	 * @return cleaned up label
+	 */
+	private static String clean(String s) {
+		if (s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+			s = s.replaceAll("\\s*[\\r\\n]+\\s*", " ");
+		}
+		return s.replace("*/", "*&#47;");
+	}
+
+	/**
+	 * Get label
+	 *
+	 * @param r resource
+	 * @return label or null
+	 */
+	public String get(Resource r) {
+		return labels.get(r);
+	}
+}
@@ -32,10 +32,13 @@ import freemarker.template.TemplateExceptionHandler;
 import org.apache.commons.cli.*;
 import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
 import org.eclipse.rdf4j.model.vocabulary.OWL;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.model.vocabulary.RDFS;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.Rio;
 
 import java.io.*;
@@ -43,21 +46,18 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import static java.util.stream.Collectors.joining;
-
 /**
  * Quick Vocabulary class generator for Eclipse RDF4j
  *
  * @author Bart.Hanssens
  */
 public class Main {
-	private Set<Resource> owlClasses;
-	private Set<Resource> owlProperties;
-	private Set<Resource> owlIndivs;
+	/**
+	 * Java package when none is given
+	 */
+	public static final String DEFAULT_PACKAGE = "org.eclipse.rdf4j.model.vocabulary";
 
 	/**
 	 * Option builder
@@ -75,184 +75,112 @@ public class Main {
 	 * Command line options
 	 */
 	private static final Options OPTS = new Options()
-			.addOption(opt("f", "file", "OWL vocabulary file in TTL format"))
+			.addOption(opt("f", "file", "OWL vocabulary file in TTL format, optionally gzip or zip compressed"))
 			.addOption(opt("d", "doc", "Documentation URL"))
 			.addOption(Option.builder("a").longOpt("author").hasArg().desc( "Name of the java class author").required(false).build())
 			.addOption(opt("n", "ns", "Namespace URL"))
 			.addOption(opt("s", "short", "Short vocabulary name"))
 			.addOption(opt("l", "long", "Long vocabulary name"))
 			.addOption(opt("p", "prefix", "Namespace prefix"))
-			.addOption(opt("t", "template", "one of: rdf4j, jena, plain"))
+			.addOption(opt("t", "template", "comma separated list of: rdf4j, jena, plain, dictionary, or all (rdf4j, jena and plain)"))
 			.addOption(Option.builder("sc").longOpt("snake-case").desc("use all caps snake case constants instead of as-is local names").required(false).build())
 			.addOption(Option.builder("jp").longOpt("package").hasArg().desc( "java package").build())
+			.addOption(Option.builder("tp").longOpt("template-package").hasArg().desc("java package per template, comma separated, e.g. jena=org.example.jena").required(false).build())
+			.addOption(Option.builder("to").longOpt("template-output-dir").hasArg().desc("output directory per template, comma separated, e.g. rdf4j=out/rdf4j (default with several templates: output directory/template name)").required(false).build())
 			.addOption(Option.builder("o").longOpt("output-dir").required(false).hasArg().desc( "output directory").build())
 			.addOption(Option.builder("c").longOpt("copyright").hasArg().required(false).desc("file containing the copyright snippet").build())
-			.addOption(Option.builder("cp").longOpt("searchClasspath").hasArg(false).desc("look for input files on classpath, then in filesystem").required(false).build());
+			.addOption(Option.builder("cp").longOpt("searchClasspath").hasArg(false).desc("look for input files on classpath, then in filesystem").required(false).build())
+			.addOption(Option.builder("st").longOpt("streaming").desc("only keep the triples needed for generation while parsing, to reduce memory usage").required(false).build())
+			.addOption(Option.builder("ic").longOpt("incremental").desc("skip generation when ontology, copyright, template, options and generator did not change").required(false).build())
+			.addOption(Option.builder("la").longOpt("lang").hasArg().desc("preferred label languages, comma separated (e.g. nl,fr,en), falling back to untagged labels").required(false).build())
+			.addOption(Option.builder("js").longOpt("javadoc").hasArg().desc("label sources for javadoc, comma separated, in order of preference: label, prefLabel, comment (default: label)").required(false).build())
+			.addOption(Option.builder("em").longOpt("emitter").desc("write rdf4j, jena or plain java source with the built-in emitter instead of freemarker").required(false).build())
+			.addOption(Option.builder("me").longOpt("metrics").hasArg().desc("write wall time, CPU time, allocated bytes and counters per phase to this JSON file").required(false).build())
+			.addOption(Option.builder("lu").longOpt("lookup").desc("add CLASSES, PROPERTIES and INDIVIDUALS sets and fromLocalName / fromIri lookup methods").required(false).build())
+			.addOption(Option.builder("pa").longOpt("parallel").hasArg().desc("parse N-Triples and N-Quads files in chunks, using this number of threads (0: number of processors)").required(false).build())
+			.addOption(Option.builder("sh").longOpt("shard-size").hasArg().desc("split the constants over package-private interfaces of at most this number of constants, for very large vocabularies").required(false).build())
+			.addOption(Option.builder("ar").longOpt("archive").hasArg().desc("write the sources to this zip or jar file, in package directories, instead of to the output directory").required(false).build())
+			.addOption(Option.builder("co").longOpt("compile").hasArg().desc("compile the sources in memory, and write the class files to this directory, or to this zip or jar file").required(false).build())
+			.addOption(Option.builder("ccp").longOpt("compile-classpath").hasArg().desc("class path for compiling (default: the class path of VocGen)").required(false).build())
+			.addOption(Option.builder("w").longOpt("watch").desc("keep running, and regenerate when the ontology or copyright file changes").required(false).build());
 
 
 
 
 	/**
-	 * Get data for template from command line
-	 *
-	 * @param cmd command line
-	 * @return map with common data
-	 */
-	private static Map getData(CommandLine cmd) {
-		Map m = new HashMap();
-		if (cmd.hasOption("a")){
-			m.put("author", cmd.getOptionValue('a'));
-		}
-		m.put("fullname", cmd.getOptionValue('l'));
-		m.put("url", cmd.getOptionValue('d'));
-		m.put("nsAlias", cmd.getOptionValue('s'));
-		m.put("prefix", cmd.getOptionValue('p'));
-		return m;
-	}
-
-	/**
-	 * Capitalize and transform string to a valid constant for RDF4J, i.e. ALL_CAPS_SNAKE_CASE
-	 *
-	 * @param s name of the class / property
-	 * @return normalized string
-	 */
-	private static String snakeCase(String s) {
-		// namespace and prefix are already used in RDF4J vocabulary class
-		if (s.equals("namespace") || s.equals("prefix")) {
-			return s.toUpperCase() + "_PROP";
-		}
-		return s.replaceFirst("^_", "")
-				.replaceAll("-", "_")
-				.replaceAll("([a-z]+)([A-Z])", "$1_$2")
-				.toUpperCase();
-	}
-
-	/**
-	 * Get local (without namespace) class names mapped to constants for RDF4J , i.e. ALL_CAPS_SNAKE_CASE
+	 * Get local (without namespace) names mapped to java constants, either as-is
+	 * or for RDF4J, i.e. ALL_CAPS_SNAKE_CASE.
 	 *
-	 * @param m RDF Model
-	 * @param base namespace URI as string
-	 * @return map with class names and constants
+	 * @param terms local names and labels
+	 * @param snakeCase use snake case
+	 * @param resolver resolver for clashes with constants of other terms
+	 * @param suffix suffix in case of a clash, or null
+	 * @return map sorted on local name, with constants
 	 */
-	private Map<String,Constant> getSnakeCaseClasses(Model m, String base) {
-		Map<String,Constant> classes = new TreeMap<>();
-		getClasses(m, base).forEach(c -> classes.put(c.getName(), new Constant(snakeCase(c.getName()), c.getLabel())));
-		return classes;
-	}
-
-
-	/**
-	 * Get local (without namespace) properties mapped to constants for RDF4J, i.e. ALL_CAPS_SNAKE_CASE
-	 *
-	 * @param m RDF Model
-	 * @param base namespace URI as string
-	 * @param classes
-	 * @return map with properties and constants
-	 */
-	private Map<String,Constant> getSnakeCaseProps(Model m, String base,
-															Map<String,Constant> classes) {
-		Map<String,Constant> props = new TreeMap<>();
-		// prevent duplicates when uppercasing property "name" and class "Name" to NAME
-		getProps(m, base).forEach(p -> {
-					String cte = snakeCase(p.getName());
-					String key = classes.containsValue(cte) ? cte + "_PROP" : cte;
-					props.put(p.getName(), new Constant(key, p.getLabel()));
+	static Map<String,Constant> getConstants(Set<Constant> terms, boolean snakeCase, NameResolver resolver,
+																			String suffix) {
+		Map<String,Constant> constants = new TreeMap<>();
+		terms.forEach(t -> constants.put(t.getName(), t));
+		// prevent duplicates when e.g. uppercasing property "name" and class "Name" to NAME
+		constants.replaceAll((name, t) -> {
+			String cte = snakeCase ? Names.snakeCase(name) : Names.toSafeJavaName(name);
+			return new Constant(resolver.resolve(cte, suffix), t.getLabel());
 		});
-		return props;
+		return constants;
 	}
 
 	/**
-	 * Get local (without namespace) individuals mapped to constants for RDF4J, i.e. ALL_CAPS_SNAKE_CASE.
+	 * Get the classes in the namespace, including their direct and indirect subclasses
 	 *
 	 * @param m RDF Model
 	 * @param base namespace URI as string
-	 * @return map with individuals
-	 */
-	private Map<String,Constant> getSnakeCaseIndivs(Model m, String base,
-			Map<String,Constant> classes, Map<String,Constant> props) {
-		Map<String,Constant> indivs = new TreeMap<>();
-		// prevent duplicates when uppercasing property "name" and class "Name" to NAME
-		getIndivs(m, base).forEach(p -> {
-					String cte = snakeCase(p.getName());
-					String key = (classes.containsValue(cte) || props.containsValue(cte)) ? cte + "_INDIV" : cte;
-					indivs.put(p.getName(), new Constant(key, p.getLabel()));
-		});
-		return indivs;
-	}
-
-	/**
-	 * Get a set of local (without namespace) class names
-	 *
-	 * @param m RDF Model
-	 * @param base namespace URI as string
-	 * @return set of local class names
+	 * @return set of classes
 	 */
-	private Set<Constant> getClasses(Model m, String base) {
-		owlClasses = m.filter(null, RDF.TYPE, OWL.CLASS).subjects();
+	static Set<Resource> getClassResources(Model m, String base) {
+		Set<Resource> owlClasses = m.filter(null, RDF.TYPE, OWL.CLASS).subjects();
 		owlClasses.addAll(m.filter(null, RDF.TYPE, RDFS.CLASS).subjects());
 
 		// discard classes outside namespace
 		owlClasses.removeIf(s -> !s.toString().startsWith(base));
 
-		// add subclasses
-		owlClasses.addAll(owlClasses.stream()
-				.flatMap(s -> m.filter(null, RDFS.SUBCLASSOF, s).subjects().stream())
-				.collect(Collectors.toSet()));
+		// add direct and indirect subclasses
+		owlClasses.addAll(Hierarchy.build(m, RDFS.SUBCLASSOF).descendants(owlClasses));
 
 		// discard named individuals
 		owlClasses.removeAll(m.filter(null, RDF.TYPE, OWL.NAMEDINDIVIDUAL).subjects());
 
 		// discard blank nodes
 		owlClasses.removeIf(c -> c instanceof BNode);
-
-		// discard blank nodes and return class names (without prefix)
-		return owlClasses.stream()
-				.map(c -> new Constant(c.stringValue().replaceFirst(base, ""), getLabel(m, c)))
-				.collect(Collectors.toSet());
-	}
-
-	private String getLabel(Model m, Resource resource) {
-		Set<Value> labels =m.filter(resource, RDFS.LABEL, null).objects();
-		if (labels.isEmpty()) {
-			return null;
-		}
-		if (labels.size() == 1) {
-			return labels.stream().map(Value::stringValue).findFirst().get();
-		}
-		return labels.stream().map(Value::stringValue).collect(joining(" or "));
+		return owlClasses;
 	}
 
 	/**
-	 * Get a set of local (without namespace) properties
+	 * Get the properties, including their direct and indirect subproperties.
+	 * Properties outside the namespace are kept, so they are not mistaken for individuals.
 	 *
 	 * @param m RDF Model
-	 * @param base namespace URI as string
-	 * @return set of local property names
+	 * @return set of properties
 	 */
-	private Set<Constant> getProps(Model m, String base) {
-		owlProperties = m.filter(null, RDF.TYPE, OWL.OBJECTPROPERTY).subjects();
+	static Set<Resource> getPropResources(Model m) {
+		Set<Resource> owlProperties = m.filter(null, RDF.TYPE, OWL.OBJECTPROPERTY).subjects();
 		owlProperties.addAll(m.filter(null, RDF.TYPE, OWL.DATATYPEPROPERTY).subjects());
 		owlProperties.addAll(m.filter(null, RDF.TYPE, RDF.PROPERTY).subjects());
 
-		// add subproperties
-		owlProperties.addAll(owlProperties.stream()
-				.flatMap(s -> m.filter(null, RDFS.SUBPROPERTYOF, s).subjects().stream())
-				.collect(Collectors.toSet()));
-
-		return owlProperties.stream()
-						.filter(p -> p.stringValue().startsWith(base)) // only use properties from the base namespace
-						.map(c -> new Constant(c.stringValue().replaceFirst(base, ""), getLabel(m, c)))
-						.collect(Collectors.toSet());
+		// add direct and indirect subproperties
+		owlProperties.addAll(Hierarchy.build(m, RDFS.SUBPROPERTYOF).descendants(owlProperties));
+		return owlProperties;
 	}
 
 	/**
-	 * Get a set of individuals (without namespace)
+	 * Get the individuals, i.e. named individuals and instances of the classes, except classes and properties
 	 *
 	 * @param m RDF Model
-	 * @param base namespace URI as string
+	 * @param owlClasses classes, see {@link #getClassResources(Model, String)}
+	 * @param owlProperties properties, see {@link #getPropResources(Model)}
+	 * @return set of individuals
 	 */
-	private Set<Constant> getIndivs(Model m, String base) {
-		owlIndivs = m.filter(null, RDF.TYPE, OWL.NAMEDINDIVIDUAL).subjects();
+	static Set<Resource> getIndivResources(Model m, Set<Resource> owlClasses, Set<Resource> owlProperties) {
+		Set<Resource> owlIndivs = m.filter(null, RDF.TYPE, OWL.NAMEDINDIVIDUAL).subjects();
 		owlIndivs.addAll(m.filter(null, RDF.TYPE, OWL.INDIVIDUAL).subjects());
 
 		// check for subclasses derived from other classes in this ontology
@@ -266,32 +194,74 @@ public class Main {
 
 		// discard blank nodes
 		owlIndivs.removeIf(c -> c instanceof BNode);
+		return owlIndivs;
+	}
+
+	/**
+	 * Get local (without namespace) names and labels of the terms in the namespace
+	 *
+	 * @param terms terms
+	 * @param base namespace URI as string
+	 * @param labels label index
+	 * @return set of local names
+	 */
+	static Set<Constant> getLocalNames(Set<Resource> terms, String base, LabelIndex labels) {
+		return terms.stream()
+					.filter(p -> p.stringValue().startsWith(base)) // only use terms from the base namespace
+					.map(c -> new Constant(localName(c, base), labels.get(c)))
+					.collect(Collectors.toSet());
+	}
 
-		// return indiv names (without prefix)
-		return owlIndivs.stream()
-						.filter(p -> p.stringValue().startsWith(base)) // only use individuals from the base namespace
-						.map(c -> new Constant(c.stringValue().replaceFirst(base, ""), getLabel(m, c)))
-						.collect(Collectors.toSet());
+	/**
+	 * Get the local name, i.e. the IRI without the namespace.
+	 * The namespace is treated as a literal prefix, not as a regular expression.
+	 *
+	 * @param r resource
+	 * @param base namespace URI as string
+	 * @return local name, or complete IRI when not in the namespace
+	 */
+	static String localName(Resource r, String base) {
+		String s = r.stringValue();
+		return s.startsWith(base) ? s.substring(base.length()) : s;
 	}
 
 	/**
-	 * Get deprecated classes and properties
+	 * Get deprecated classes, properties and individuals, with the term replacing them (if any)
 	 *
 	 * @param m model
 	 * @param base namespace URI as string
-	 * @return set of deprecated classes / properties as string
+	 * @return map of deprecated local names and IRI of the replacement, or null if there is no replacement
 	 */
-	private static Set<String> getDeprecated(Model m, String base) {
+	static Map<String,String> getDeprecated(Model m, String base) {
 		SimpleValueFactory f = SimpleValueFactory.getInstance();
 		Literal tr = f.createLiteral(true);
 
-		Set<Resource> deprecated = m.filter(null, OWL.DEPRECATEDCLASS, tr).subjects();
-		deprecated.addAll(m.filter(null, OWL.DEPRECATEDPROPERTY, tr).subjects());
+		Set<Resource> deprecated = m.filter(null, RDF.TYPE, OWL.DEPRECATEDCLASS).subjects();
+		deprecated.addAll(m.filter(null, RDF.TYPE, OWL.DEPRECATEDPROPERTY).subjects());
 		deprecated.addAll(m.filter(null, OWL.DEPRECATED, tr).subjects());
 
-		return deprecated.stream()
-						.map(d -> d.stringValue().replaceFirst(base, ""))
-						.collect(Collectors.toSet());
+		Map<String,String> res = new HashMap<>();
+		for (Resource d: deprecated) {
+			String replacement = Models.objectIRI(m.filter(d, DCTERMS.IS_REPLACED_BY, null))
+										.map(IRI::stringValue).orElse(null);
+			res.put(localName(d, base), replacement);
+		}
+		return res;
+	}
+
+	/**
+	 * Flag deprecated constants, so templates do not have to look them up
+	 *
+	 * @param constants map of local names and constants
+	 * @param deprecated map of deprecated local names and replacements
+	 */
+	static void markDeprecated(Map<String,Constant> constants, Map<String,String> deprecated) {
+		constants.forEach((name, c) -> {
+			if (deprecated.containsKey(name)) {
+				c.setDeprecated(true);
+				c.setReplacedBy(deprecated.get(name));
+			}
+		});
 	}
 
 	/**
@@ -299,45 +269,190 @@ public class Main {
 	 *
 	 * @param file input file
 	 * @param base namespace URI
+	 * @param searchForFileOnClasspath look on classpath first
+	 * @param streaming only keep the triples needed for generating the vocabulary
 	 * @return RDF model
 	 * @throws IOException
 	 */
-	private static Model getModel(String file, String base, boolean searchForFileOnClasspath) throws IOException {
-		if (searchForFileOnClasspath) {
-			try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(file)) {
-				if (in != null) {
-					RDFFormat fmt = Rio.getParserFormatForFileName(file).orElse(RDFFormat.TURTLE);
-					return Rio.parse(in, base, fmt);
+	static Model getModel(String file, String base, boolean searchForFileOnClasspath, boolean streaming)
+													throws IOException {
+		return getModel(file, base, searchForFileOnClasspath, streaming, 0);
+	}
+
+	/**
+	 * Read an OWL file into and RDF model, parsing N-Triples and N-Quads files in parallel
+	 *
+	 * @param file input file
+	 * @param base namespace URI
+	 * @param searchForFileOnClasspath look on classpath first
+	 * @param streaming only keep the triples needed for generating the vocabulary
+	 * @param threads number of parser threads, 0 to parse sequentially
+	 * @return RDF model
+	 * @throws IOException
+	 */
+	static Model getModel(String file, String base, boolean searchForFileOnClasspath, boolean streaming,
+													int threads) throws IOException {
+		Events.OntologyLoad event = new Events.OntologyLoad();
+		event.begin();
+		Model m = loadModel(file, base, searchForFileOnClasspath, streaming, threads);
+		event.finish(file, base, streaming, threads, m.size());
+		return m;
+	}
+
+	/**
+	 * Read an OWL file into and RDF model, parsing N-Triples and N-Quads files in parallel
+	 *
+	 * @param file input file
+	 * @param base namespace URI
+	 * @param searchForFileOnClasspath look on classpath first
+	 * @param streaming only keep the triples needed for generating the vocabulary
+	 * @param threads number of parser threads, 0 to parse sequentially
+	 * @return RDF model
+	 * @throws IOException
+	 */
+	private static Model loadModel(String file, String base, boolean searchForFileOnClasspath, boolean streaming,
+													int threads) throws IOException {
+		if (threads > 0 && !OntologyInput.isCompressed(file)) {
+			RDFFormat fmt = Rio.getParserFormatForFileName(file).orElse(RDFFormat.TURTLE);
+			// classpath resources can't be memory-mapped
+			boolean onClasspath = searchForFileOnClasspath
+				&& Thread.currentThread().getContextClassLoader().getResource(file) != null;
+			if (ParallelLoader.supports(fmt) && !onClasspath) {
+				return ParallelLoader.load(Path.of(file), fmt, base, streaming, threads);
+			}
+		}
+		try (OntologyInput in = OntologyInput.open(file, searchForFileOnClasspath)) {
+			return parse(in.getStream(), in.getFormat(), base, streaming);
+		}
+	}
+
+	/**
+	 * Parse an input stream into an RDF model
+	 *
+	 * @param in input stream
+	 * @param fmt RDF format
+	 * @param base namespace URI
+	 * @param streaming only keep the triples needed for generating the vocabulary
+	 * @return RDF model
+	 * @throws IOException
+	 */
+	private static Model parse(InputStream in, RDFFormat fmt, String base, boolean streaming) throws IOException {
+		if (!streaming) {
+			return Rio.parse(in, base, fmt);
+		}
+		TermHandler handler = new TermHandler(base);
+		RDFParser parser = Rio.createParser(fmt);
+		parser.setRDFHandler(handler);
+		parser.parse(in, base);
+		return handler.getModel();
+	}
+
+	/**
+	 * Get all local names mapped to their constant, for the generated reverse lookup.
+	 * A local name used for e.g. both a class and a property maps to the first one.
+	 *
+	 * @param maps maps of local names and constants, in order of preference
+	 * @return sorted map of local names and constants
+	 */
+	@SafeVarargs
+	static Map<String,Constant> getLookup(Map<String,Constant>... maps) {
+		Map<String,Constant> lookup = new TreeMap<>();
+		for (Map<String,Constant> map: maps) {
+			map.forEach(lookup::putIfAbsent);
+		}
+		return lookup;
+	}
+
+	/**
+	 * Split the constants in shards of at most a given size, keeping the order of classes, properties and individuals.
+	 * Each shard contains a (possibly empty) map of classes, properties and individuals.
+	 * There is always at least one shard, even for an empty vocabulary.
+	 *
+	 * @param size maximum number of constants per shard
+	 * @param classes classes
+	 * @param props properties
+	 * @param indivs individuals
+	 * @return list of shards
+	 */
+	static List<Map<String,Map<String,Constant>>> getShards(int size, Map<String,Constant> classes,
+															Map<String,Constant> props, Map<String,Constant> indivs) {
+		String[] keys = { "classMap", "propMap", "indivMap" };
+		List<Map<String,Constant>> maps = List.of(classes, props, indivs);
+
+		List<Map<String,Map<String,Constant>>> shards = new ArrayList<>();
+		Map<String,Map<String,Constant>> shard = null;
+		int count = 0;
+		for (int i = 0; i < keys.length; i++) {
+			for (Map.Entry<String,Constant> e: maps.get(i).entrySet()) {
+				if (count++ % size == 0) {
+					shard = newShard(keys);
+					shards.add(shard);
 				}
+				shard.get(keys[i]).put(e.getKey(), e.getValue());
 			}
 		}
-		InputStream in = new FileInputStream(file);
-		RDFFormat fmt = Rio.getParserFormatForFileName(file).orElse(RDFFormat.TURTLE);
-		return Rio.parse(in, base, fmt);
+		if (shards.isEmpty()) {
+			shards.add(newShard(keys));
+		}
+		return shards;
+	}
+
+	/**
+	 * Create an empty shard
+	 *
+	 * @param keys names of the maps
+	 * @return shard
+	 */
+	private static Map<String,Map<String,Constant>> newShard(String[] keys) {
+		Map<String,Map<String,Constant>> shard = new HashMap<>();
+		for (String key: keys) {
+			shard.put(key, new LinkedHashMap<>());
+		}
+		return shard;
 	}
 
 	/**
-	 * Write output for Rdf4J or Jena
+	 * Split the reverse lookup in shards of at most a given size.
+	 * Each shard contains the first (lowest) local name and a map of local names and constants.
+	 *
+	 * @param size maximum number of local names per shard
+	 * @param lookup sorted map of local names and constants
+	 * @return list of shards
+	 */
+	static List<Map<String,Object>> getLookupShards(int size, Map<String,Constant> lookup) {
+		List<Map<String,Object>> shards = new ArrayList<>();
+		Map<String,Constant> shard = null;
+		int count = 0;
+		for (Map.Entry<String,Constant> e: lookup.entrySet()) {
+			if (count++ % size == 0) {
+				shard = new LinkedHashMap<>();
+				shards.add(Map.of("first", e.getKey(), "lookupMap", shard));
+			}
+			shard.put(e.getKey(), e.getValue());
+		}
+		return shards;
+	}
+
+	/**
+	 * Render the java source, either with freemarker or with the built-in emitter (when it supports the template)
 	 *
 	 * @param cfg freemarker configuration
 	 * @param template project: jena or rdf4j
 	 * @param map template data
+	 * @param emitter use built-in emitter instead of freemarker
+	 * @return java source
 	 * @throws IOException
 	 * @throws TemplateException
 	 */
-	private static void source(Configuration cfg, TemplateType template, Map map, File outputDir) throws IOException, TemplateException {
-		Template ftl = cfg.getTemplate(template.toString().toLowerCase() + ".ftl");
-		String className = (String) map.get("nsAlias");
-		if (!outputDir.exists()) {
-			System.out.println("creating output directory " + outputDir.getAbsolutePath());
-			if (!outputDir.mkdirs()) {
-				throw new IOException("Unable to create output directory");
-			}
-		}
-		File outFile = new File(outputDir, className + ".java");
-		try (Writer out = new FileWriter(outFile)) {
+	static String render(Configuration cfg, TemplateType template, Map map, boolean emitter) throws IOException, TemplateException {
+		StringWriter out = new StringWriter();
+		if (emitter && JavaEmitter.supports(template)) {
+			JavaEmitter.emit(template, map, out);
+		} else {
+			Template ftl = cfg.getTemplate(template.getFileName());
 			ftl.process(map, out);
 		}
+		return out.toString();
 	}
 
 	/**
@@ -345,7 +460,7 @@ public class Main {
 	 *
 	 * @return freemarker configuration
 	 */
-	private static Configuration getConfig() {
+	public static Configuration getConfig() {
 		Configuration cfg = new Configuration(Configuration.VERSION_2_3_25);
 		cfg.setClassLoaderForTemplateLoading(Main.class.getClassLoader(), "be/belgif/vocgen");
 		cfg.setDefaultEncoding("UTF-8");
@@ -355,73 +470,39 @@ public class Main {
 	}
 
 	/**
-	 * Write java class for RDF4J
+	 * Extract the classes, properties, individuals and deprecated terms, once for all templates
 	 *
-	 * @param cfg freemarker configuration
 	 * @param m model
 	 * @param base namespace URI as string
-	 * @param root template data
-	 * @throws IOException
-	 * @throws TemplateException
+	 * @param labels label index
+	 * @return extracted terms
 	 */
-	private void writeVocab(Configuration cfg, Model m, String base, Map root, File outputDir, boolean snakeCase, TemplateType template)
-													throws IOException, TemplateException {
-		Map<String,Constant> classes = snakeCase
-						? getSnakeCaseClasses(m, base)
-						: getSafeNameMap(getClasses(m, base));
-		Map<String,Constant> props = snakeCase
-						? getSnakeCaseProps(m, base, classes)
-						: getSafeNameMap(getProps(m, base));
-		Map<String,Constant> indivs = snakeCase
-						? getSnakeCaseIndivs(m, base, classes, props)
-						: getSafeNameMap(getIndivs(m, base));
-
-		setDefaultLabelsIfMissing(classes, (String) root.get("prefix"));
-		setDefaultLabelsIfMissing(props, (String) root.get("prefix"));
-		setDefaultLabelsIfMissing(indivs, (String) root.get("prefix"));
-
-		root.put("classMap", classes);
-		root.put("propMap", props);
-		root.put("indivMap", indivs);
-
-		source(cfg, template, root, outputDir);
-	}
-
-	private void setDefaultLabelsIfMissing(Map<String, Constant> constantMap, String nsPrefix) {
-		constantMap.values()
-						.stream()
-						.forEach(c -> {
-							if (c.getLabel() == null) {
-								c.setLabel(nsPrefix + ":" + c.getName());
-							}
-						});
-	}
-
-	private static Map<String, Constant> getSafeNameMap(Set<Constant> localNames) {
-		return new TreeMap<>(localNames.stream()
-						.collect(Collectors.toMap(c -> c.getName(), c -> new Constant(toSafeJavaName(c.getName()), c.getLabel()))));
-	}
-
-	private static Pattern javaLanguageKeywords = Pattern.compile(
-		"(abstract|continue|for|new|switch|assert|default|goto|package|synchronized|boolean|do|if|private|this|"
-						+ "break|double|implements|protected|throw|byte|else|import|public|throws|case|enum|"
-						+ "instanceof|return|transient|catch|extends|int|short|try|char|final|interface|static|"
-						+ "void|class|finally|long|strictfp|volatile|const|float|native|super|while)"
-	);
-
-	private static String toSafeJavaName(String localName){
-		Matcher m = javaLanguageKeywords.matcher(localName);
-		if (m.matches()){
-			return localName + "_";
-		}
-		return localName
-						.replaceAll("^_", "")
-						.replaceAll("[+\\-~*#&%§!]", "_");
+	static Terms extract(Model m, String base, LabelIndex labels) {
+		Events.TermExtraction event = new Events.TermExtraction();
+		event.begin();
+		Set<Resource> classes = getClassResources(m, base);
+		Set<Constant> classNames = getLocalNames(classes, base, labels);
+		event.finish(base, "class", m.size(), classNames.size());
+
+		event = new Events.TermExtraction();
+		event.begin();
+		Set<Resource> props = getPropResources(m);
+		Set<Constant> propNames = getLocalNames(props, base, labels);
+		event.finish(base, "property", m.size(), propNames.size());
+
+		event = new Events.TermExtraction();
+		event.begin();
+		Set<Resource> indivs = getIndivResources(m, classes, props);
+		Set<Constant> indivNames = getLocalNames(indivs, base, labels);
+		event.finish(base, "individual", m.size(), indivNames.size());
+
+		event = new Events.TermExtraction();
+		event.begin();
+		Map<String,String> deprecated = getDeprecated(m, base);
+		event.finish(base, "deprecated", m.size(), deprecated.size());
+		return new Terms(classNames, propNames, indivNames, deprecated);
 	}
 
-
-
-
 	/**
 	 * Main
 	 *
@@ -430,48 +511,355 @@ public class Main {
 	 * @throws freemarker.template.TemplateException
 	 */
 	public static void main(String[] args) throws IOException, TemplateException {
+		if (Batch.isBatch(args)) {
+			try {
+				if (Batch.run(args) > 0) {
+					System.exit(1);
+				}
+			} catch (ParseException ex) {
+				System.exit(-1);
+			}
+			return;
+		}
+		if (Server.isServer(args)) {
+			try {
+				Server.run(args);
+			} catch (ParseException ex) {
+				System.exit(-1);
+			}
+			return;
+		}
 		Main main = new Main();
+		boolean watch = Watcher.isWatch(args);
 		try {
-			main.generateVocabulary(args);
+			try {
+				main.generateVocabulary(args);
+			} catch (IOException|TemplateException|RuntimeException e) {
+				if (!watch) {
+					throw e;
+				}
+				// keep watching, the input may be fixed while watching
+				System.out.println("FAILED  " + e);
+			}
+			if (watch) {
+				String name = parseArgs(args).getOptionValue("s", "vocabulary");
+				try (Watcher w = new Watcher(Map.of(name, args), getConfig())) {
+					w.run();
+				}
+			}
 		} catch (ParseException ex) {
 			System.exit(-1);
 		}
+	}
 
+	/**
+	 * Parse command line arguments, without printing help on failure
+	 *
+	 * @param args command line arguments
+	 * @return command line
+	 * @throws ParseException
+	 */
+	static CommandLine parseArgs(String[] args) throws ParseException {
+		CommandLineParser parser = new DefaultParser();
+		return parser.parse(OPTS, args);
+	}
 
+	/**
+	 * Get the command line option, if any
+	 *
+	 * @param name long option name
+	 * @return option or null
+	 */
+	static Option getOption(String name) {
+		return OPTS.getOption(name);
 	}
 
 	public void generateVocabulary(String[] args) throws ParseException, IOException, TemplateException {
 		CommandLine cmd;
-		CommandLineParser parser = new DefaultParser();
 		try {
-			cmd = parser.parse(OPTS, args);
+			cmd = parseArgs(args);
 		} catch (ParseException e) {
 			HelpFormatter help = new HelpFormatter();
 			System.out.println(e.getMessage());
 			help.printHelp("VocabGen", OPTS);
 			throw e;
 		}
-		String ontologyFile = cmd.getOptionValue('f');
-		String base = cmd.getOptionValue('n'); // namespace URI
-		String javaPackage = Optional.ofNullable(cmd.getOptionValue("jp")).orElse("org.eclipse.rdf4j.model.vocabulary");
-		String outputDirStr = Optional.ofNullable(cmd.getOptionValue("o")).orElse(".");
-		boolean snakeCase = cmd.hasOption("sc");
-		File outputDir = new File(outputDirStr);
+		generateVocabulary(cmd, getConfig());
+	}
+
+	/**
+	 * Generate a vocabulary from command line arguments, using a (shared) freemarker configuration.
+	 * Unlike {@link #generateVocabulary(String[])}, no help is printed when the arguments are invalid.
+	 *
+	 * @param args command line arguments
+	 * @param cfg freemarker configuration
+	 * @throws ParseException
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	public void generateVocabulary(String[] args, Configuration cfg) throws ParseException, IOException, TemplateException {
+		generateVocabulary(parseArgs(args), cfg);
+	}
+
+	/**
+	 * Generate a vocabulary, using a (shared) freemarker configuration
+	 *
+	 * @param cmd parsed command line
+	 * @param cfg freemarker configuration
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	void generateVocabulary(CommandLine cmd, Configuration cfg) throws IOException, TemplateException {
+		generateVocabulary(cmd, cfg, false);
+	}
+
+	/**
+	 * Generate a vocabulary, using a (shared) freemarker configuration.
+	 * When requested on the command line, the metrics are written as a JSON report.
+	 *
+	 * @param cmd parsed command line
+	 * @param cfg freemarker configuration
+	 * @param metrics record metrics, even when not requested on the command line
+	 * @return metrics, only counting the skipped targets when the vocabulary was up to date
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	Metrics generateVocabulary(CommandLine cmd, Configuration cfg, boolean metrics)
+															throws IOException, TemplateException {
+		if (!cmd.hasOption("co")) {
+			return generateVocabulary(cmd, cfg, metrics, null);
+		}
+		List<GenerationResult.Source> sources = new ArrayList<>();
+		Metrics m = generateVocabulary(cmd, cfg, metrics, sources);
+		compile(sources, cmd.getOptionValue("ccp"), cmd.getOptionValue("co"));
+		return m;
+	}
+
+	/**
+	 * Generate a vocabulary, using a (shared) freemarker configuration, without compiling it.
+	 * When requested on the command line, the metrics are written as a JSON report.
+	 *
+	 * @param cmd parsed command line
+	 * @param cfg freemarker configuration
+	 * @param metrics record metrics, even when not requested on the command line
+	 * @param sources list to add the sources to (including the up to date ones), or null
+	 * @return metrics, only counting the skipped targets when the vocabulary was up to date
+	 * @throws IOException
+	 * @throws TemplateException
+	 */
+	Metrics generateVocabulary(CommandLine cmd, Configuration cfg, boolean metrics,
+								List<GenerationResult.Source> sources) throws IOException, TemplateException {
+		metrics |= cmd.hasOption("me");
 		boolean searchFilesOnClasspath = cmd.hasOption("cp");
-		String copyrightFileName = cmd.getOptionValue("c");
-		String copyright = null;
-		copyright = getCopyright(copyrightFileName, copyright, searchFilesOnClasspath);
-		TemplateType template = TemplateType.valueOf(cmd.getOptionValue("t").toUpperCase());
-		Model m = getModel(ontologyFile, base, searchFilesOnClasspath);
-		Set<String> deprecated = getDeprecated(m, base);
-		// Template
-		Configuration cfg = getConfig();
-		Map root = getData(cmd);
-		root.put("nsURL", base);
-		root.put("depr", deprecated);
-		root.put("package", javaPackage);
-		root.put("copyright", copyright);
-		writeVocab(cfg, m, base, root, outputDir, snakeCase, template);
+		String copyright = getCopyright(cmd.getOptionValue("c"), null, searchFilesOnClasspath);
+		GeneratorOptions opts = getOptions(cmd, copyright, metrics);
+		List<Target> targets = new ArrayList<>(opts.getTargets());
+
+		String className = opts.getShortName();
+		Map<Target,String> digests = new HashMap<>();
+		Metrics skipped = metrics ? new Metrics() : Metrics.DISABLED;
+		// archives are always written completely
+		if (cmd.hasOption("ic") && !cmd.hasOption("ar")) {
+			byte[] ontologyDigest;
+			try (InputStream in = OntologyInput.openRaw(opts.getFile(), searchFilesOnClasspath)) {
+				ontologyDigest = GenerationCache.digestOntology(in);
+			}
+			for (Iterator<Target> it = targets.iterator(); it.hasNext(); ) {
+				Target t = it.next();
+				String digest = GenerationCache.digest(cmd, ontologyDigest, copyright, t.getTemplate().getFileName());
+				GenerationCache cache = new GenerationCache(t.getOutputDir().toPath(), className);
+				if (cache.isUpToDate(digest, t.getFiles(className))) {
+					System.out.println(className + " is up to date");
+					skipped.count(Metrics.WRITE, "upToDate", 1);
+					if (sources != null) {
+						sources.add(readSource(t, className));
+					}
+					it.remove();
+				} else {
+					digests.put(t, digest);
+				}
+			}
+			if (targets.isEmpty()) {
+				if (cmd.hasOption("me")) {
+					Metrics.write(Path.of(cmd.getOptionValue("me")), skipped.toJson(className));
+				}
+				return skipped;
+			}
+		}
+		GenerationResult result = new Generator(cfg).generate(opts, targets);
+		result.getMetrics().add(skipped);
+		if (cmd.hasOption("ar")) {
+			try (OutputSink sink = OutputSink.open(Path.of(cmd.getOptionValue("ar")))) {
+				result.write(sink);
+			}
+		} else {
+			result.write();
+		}
+		if (sources != null) {
+			sources.addAll(result.getSources());
+		}
+		for (Map.Entry<Target,String> e: digests.entrySet()) {
+			new GenerationCache(e.getKey().getOutputDir().toPath(), className).store(e.getValue());
+		}
+		if (cmd.hasOption("me")) {
+			Metrics.write(Path.of(cmd.getOptionValue("me")), result.getMetrics().toJson(className));
+		}
+		return result.getMetrics();
+	}
+
+	/**
+	 * Read a previously generated source, skipped by incremental generation
+	 *
+	 * @param t target
+	 * @param className name of the java class
+	 * @return source
+	 * @throws IOException
+	 */
+	private static GenerationResult.Source readSource(Target t, String className) throws IOException {
+		Path dir = t.getOutputDir().toPath();
+		Path dict = dir.resolve(className + ".dict");
+		return new GenerationResult.Source(t.getName(), t.getJavaPackage(), t.getOutputDir(), className,
+							Files.readString(dir.resolve(className + ".java"), StandardCharsets.UTF_8),
+							Files.exists(dict) ? Files.readAllBytes(dict) : null);
+	}
+
+	/**
+	 * Compile sources in one compiler invocation, and write the class files
+	 *
+	 * @param sources sources
+	 * @param classpath class path for compiling, or null to use the class path of VocGen
+	 * @param target output directory, zip or jar file
+	 * @throws IOException when the compilation failed
+	 */
+	static void compile(List<GenerationResult.Source> sources, String classpath, String target) throws IOException {
+		// compile first, so a failed compilation leaves an existing jar alone
+		SortedMap<String,byte[]> classes = SourceCompiler.compile(sources, classpath);
+		try (OutputSink sink = OutputSink.open(Path.of(target))) {
+			SourceCompiler.write(classes, sink);
+		}
+	}
+
+	/**
+	 * Get generator options from command line, reading the copyright snippet (if any)
+	 *
+	 * @param cmd command line
+	 * @param metrics record metrics
+	 * @return options
+	 * @throws IOException when the copyright snippet could not be read
+	 */
+	GeneratorOptions getOptions(CommandLine cmd, boolean metrics) throws IOException {
+		String copyright = getCopyright(cmd.getOptionValue("c"), null, cmd.hasOption("cp"));
+		return getOptions(cmd, copyright, metrics);
+	}
+
+	/**
+	 * Get generator options from command line
+	 *
+	 * @param cmd command line
+	 * @param copyright copyright snippet or null
+	 * @param metrics record metrics
+	 * @return options
+	 */
+	static GeneratorOptions getOptions(CommandLine cmd, String copyright, boolean metrics) {
+		int threads = 0;
+		if (cmd.hasOption("pa")) {
+			threads = Integer.parseInt(cmd.getOptionValue("pa"));
+			if (threads == 0) {
+				threads = Runtime.getRuntime().availableProcessors();
+			}
+		}
+		return GeneratorOptions.builder()
+			.file(cmd.getOptionValue('f'))
+			.searchClasspath(cmd.hasOption("cp"))
+			.streaming(cmd.hasOption("st"))
+			.parallel(threads)
+			.namespace(cmd.getOptionValue('n'))
+			.shortName(cmd.getOptionValue('s'))
+			.longName(cmd.getOptionValue('l'))
+			.prefix(cmd.getOptionValue('p'))
+			.doc(cmd.getOptionValue('d'))
+			.author(cmd.getOptionValue('a'))
+			.copyright(copyright)
+			.templates(cmd.getOptionValue('t'))
+			.javaPackage(Optional.ofNullable(cmd.getOptionValue("jp")).orElse(DEFAULT_PACKAGE))
+			.outputDir(new File(Optional.ofNullable(cmd.getOptionValue("o")).orElse(".")))
+			.templatePackages(cmd.getOptionValue("tp"))
+			.templateOutputDirs(cmd.getOptionValue("to"))
+			.snakeCase(cmd.hasOption("sc"))
+			.labelSources(cmd.getOptionValue("js"))
+			.languages(cmd.getOptionValue("la"))
+			.emitter(cmd.hasOption("em"))
+			.lookup(cmd.hasOption("lu"))
+			.shardSize(cmd.hasOption("sh") ? Integer.parseInt(cmd.getOptionValue("sh")) : 0)
+			.metrics(metrics)
+			.build();
+	}
+
+	/**
+	 * Get the templates to render, with their java package and output directory.
+	 * With several templates, each one is written in a subdirectory named after the template,
+	 * unless an output directory is given for that template.
+	 *
+	 * @param templates comma separated template names, or all
+	 * @param javaPackage default java package
+	 * @param outputDir default output directory
+	 * @param packages comma separated template=package pairs, or null
+	 * @param outputDirs comma separated template=directory pairs, or null
+	 * @return list of targets
+	 */
+	static List<Target> getTargets(String templates, String javaPackage, String outputDir,
+									String packages, String outputDirs) {
+		Set<TemplateType> types = new LinkedHashSet<>();
+		for (String t: templates.split(",")) {
+			t = t.trim().toUpperCase(Locale.ROOT);
+			if (t.equals("ALL")) {
+				types.addAll(List.of(TemplateType.RDF4J, TemplateType.JENA, TemplateType.PLAIN));
+			} else if (!t.isEmpty()) {
+				types.add(TemplateType.valueOf(t));
+			}
+		}
+		if (types.isEmpty()) {
+			throw new IllegalArgumentException("No template");
+		}
+		Map<TemplateType,String> pkgs = getPerTemplate(packages);
+		Map<TemplateType,String> dirs = getPerTemplate(outputDirs);
+
+		List<Target> targets = new ArrayList<>();
+		Map<File,TemplateType> used = new HashMap<>();
+		for (TemplateType t: types) {
+			String dir = dirs.getOrDefault(t, (types.size() > 1)
+								? new File(outputDir, t.toString().toLowerCase(Locale.ROOT)).getPath() : outputDir);
+			File f = new File(dir);
+			TemplateType other = used.put(f.getAbsoluteFile().toPath().normalize().toFile(), t);
+			if (other != null) {
+				throw new IllegalArgumentException("Templates " + other.toString().toLowerCase(Locale.ROOT)
+						+ " and " + t.toString().toLowerCase(Locale.ROOT) + " use the same output directory " + dir);
+			}
+			targets.add(new Target(t, pkgs.getOrDefault(t, javaPackage), f));
+		}
+		return targets;
+	}
+
+	/**
+	 * Parse comma separated template=value pairs
+	 *
+	 * @param s string or null
+	 * @return map of templates and values
+	 */
+	private static Map<TemplateType,String> getPerTemplate(String s) {
+		Map<TemplateType,String> res = new EnumMap<>(TemplateType.class);
+		if (s == null) {
+			return res;
+		}
+		for (String pair: s.split(",")) {
+			int eq = pair.indexOf('=');
+			if (eq <= 0) {
+				throw new IllegalArgumentException("Invalid value " + pair + ", expected <template>=<value>");
+			}
+			res.put(TemplateType.valueOf(pair.substring(0, eq).trim().toUpperCase(Locale.ROOT)),
+					pair.substring(eq + 1).trim());
+		}
+		return res;
 	}
 
 	private String getCopyright(String copyrightFileName, String copyright, boolean searchFilesOnClasspath) throws IOException {
@@ -488,7 +876,102 @@ public class Main {
 		return null;
 	}
 
-	private static enum TemplateType {
-		RDF4J, JENA, PLAIN
+	/**
+	 * Template to render, with its java package and output directory
+	 */
+	static class Target {
+		private final TemplateType template;
+		private final String javaPackage;
+		private final File outputDir;
+
+		/**
+		 * Constructor
+		 *
+		 * @param template template
+		 * @param javaPackage java package
+		 * @param outputDir output directory
+		 */
+		Target(TemplateType template, String javaPackage, File outputDir) {
+			this.template = template;
+			this.javaPackage = javaPackage;
+			this.outputDir = outputDir;
+		}
+
+		TemplateType getTemplate() {
+			return template;
+		}
+
+		/**
+		 * Get the template name
+		 *
+		 * @return lowercase name, e.g. rdf4j
+		 */
+		String getName() {
+			return template.toString().toLowerCase(Locale.ROOT);
+		}
+
+		/**
+		 * Get all files generated for this template
+		 *
+		 * @param className name of the java class
+		 * @return java source, and binary dictionary for the dictionary template
+		 */
+		Path[] getFiles(String className) {
+			Path dir = outputDir.toPath();
+			return (template == TemplateType.DICTIONARY)
+				? new Path[] { dir.resolve(className + ".java"), dir.resolve(className + ".dict") }
+				: new Path[] { dir.resolve(className + ".java") };
+		}
+
+		String getJavaPackage() {
+			return javaPackage;
+		}
+
+		File getOutputDir() {
+			return outputDir;
+		}
+
+		/**
+		 * Get a copy of the template data, with the java package of this target
+		 *
+		 * @param root template data
+		 * @return template data
+		 */
+		Map getData(Map root) {
+			Map data = new HashMap(root);
+			data.put("package", getJavaPackage());
+			return data;
+		}
+	}
+
+	static enum TemplateType {
+		RDF4J("NAMESPACE", "PREFIX", "NS"),
+		JENA("NAMESPACE", "NS", "m"),
+		PLAIN("NS"),
+		DICTIONARY();
+
+		private final Set<String> reserved;
+
+		TemplateType(String... reserved) {
+			this.reserved = Set.of(reserved);
+		}
+
+		/**
+		 * Get the names of the fields always present in the generated class
+		 *
+		 * @return set of names
+		 */
+		Set<String> getReserved() {
+			return reserved;
+		}
+
+		/**
+		 * Get the name of the freemarker template
+		 *
+		 * @return file name
+		 */
+		String getFileName() {
+			return toString().toLowerCase() + ".ftl";
+		}
 	}
 }
\ No newline at end of file
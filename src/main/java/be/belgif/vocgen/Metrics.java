@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Wall time, CPU time, allocated bytes and counters (triples, terms, output size...) per generation phase.
+ *
+ * CPU time and allocated bytes are measured on the thread running the phase, using the thread MXBean,
+ * so the worker threads of parallel parsing are not included.
+ * Phases running on several threads at the same time, like rendering several templates, are added up.
+ *
+ * @author Bart.Hanssens
+ */
+public class Metrics {
+	/**
+	 * Parsing the ontology
+	 */
+	public static final String LOAD = "load";
+
+	/**
+	 * Extracting labels, classes, properties, individuals and deprecated terms
+	 */
+	public static final String EXTRACT = "extract";
+
+	/**
+	 * Mapping local names to java constants, including lookup and shards
+	 */
+	public static final String NAMES = "names";
+
+	/**
+	 * Rendering the java source (and binary dictionary)
+	 */
+	public static final String RENDER = "render";
+
+	/**
+	 * Writing the files
+	 */
+	public static final String WRITE = "write";
+
+	/**
+	 * Metrics that are not recorded
+	 */
+	public static final Metrics DISABLED = new Metrics(false);
+
+	private static final List<String> ORDER = List.of(LOAD, EXTRACT, NAMES, RENDER, WRITE);
+
+	private static final Timer NO_TIMER = () -> {};
+
+	private final boolean enabled;
+	private final Map<String,Phase> phases = new TreeMap<>(Metrics::compare);
+
+	/**
+	 * Totals of one phase
+	 */
+	private static class Phase {
+		private long calls;
+		private long wallNanos;
+		private long cpuNanos;
+		private long allocatedBytes;
+		private final Map<String,Long> counters = new LinkedHashMap<>();
+
+		/**
+		 * Add the totals of another phase
+		 *
+		 * @param other other phase
+		 */
+		private void add(Phase other) {
+			calls += other.calls;
+			wallNanos += other.wallNanos;
+			cpuNanos += other.cpuNanos;
+			allocatedBytes += other.allocatedBytes;
+			other.counters.forEach((k, v) -> counters.merge(k, v, Long::sum));
+		}
+	}
+
+	/**
+	 * Measurement of a running phase
+	 */
+	public interface Timer {
+		/**
+		 * Stop measuring, to be called in a finally block
+		 */
+		void stop();
+	}
+
+	/**
+	 * Constructor, recording metrics
+	 */
+	public Metrics() {
+		this(true);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param enabled true to record
+	 */
+	private Metrics(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Sort known phases in the order they run, other ones alphabetically after them
+	 *
+	 * @param a phase name
+	 * @param b phase name
+	 * @return comparison result
+	 */
+	private static int compare(String a, String b) {
+		int ia = ORDER.indexOf(a);
+		int ib = ORDER.indexOf(b);
+		if (ia >= 0 || ib >= 0) {
+			return Integer.compare((ia >= 0) ? ia : ORDER.size(), (ib >= 0) ? ib : ORDER.size());
+		}
+		return a.compareTo(b);
+	}
+
+	/**
+	 * Check if metrics are recorded
+	 *
+	 * @return true if recorded
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Start measuring a phase on the current thread
+	 *
+	 * @param phase phase name
+	 * @return timer, to be stopped at the end of the phase
+	 */
+	public Timer start(String phase) {
+		if (!enabled) {
+			return NO_TIMER;
+		}
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		long wall = System.nanoTime();
+		long cpu = cpuTime(bean);
+		long alloc = allocatedBytes(bean);
+		return () -> {
+			long wallNanos = System.nanoTime() - wall;
+			long cpuNanos = (cpu >= 0) ? Math.max(0, cpuTime(bean) - cpu) : 0;
+			long allocated = (alloc >= 0) ? Math.max(0, allocatedBytes(bean) - alloc) : 0;
+			synchronized (this) {
+				Phase p = phases.computeIfAbsent(phase, k -> new Phase());
+				p.calls++;
+				p.wallNanos += wallNanos;
+				p.cpuNanos += cpuNanos;
+				p.allocatedBytes += allocated;
+			}
+		};
+	}
+
+	/**
+	 * Add a value to a counter of a phase, e.g. the number of triples
+	 *
+	 * @param phase phase name
+	 * @param counter counter name
+	 * @param value value to add
+	 */
+	public void count(String phase, String counter, long value) {
+		if (!enabled) {
+			return;
+		}
+		synchronized (this) {
+			phases.computeIfAbsent(phase, k -> new Phase()).counters.merge(counter, value, Long::sum);
+		}
+	}
+
+	/**
+	 * Add all phases and counters of other metrics, e.g. to aggregate a batch
+	 *
+	 * @param other other metrics
+	 */
+	public void add(Metrics other) {
+		if (!enabled || other == this) {
+			return;
+		}
+		Map<String,Phase> copy = new LinkedHashMap<>();
+		synchronized (other) {
+			other.phases.forEach((k, v) -> {
+				Phase p = new Phase();
+				p.add(v);
+				copy.put(k, p);
+			});
+		}
+		synchronized (this) {
+			copy.forEach((k, v) -> phases.computeIfAbsent(k, n -> new Phase()).add(v));
+		}
+	}
+
+	/**
+	 * Get current thread CPU time
+	 *
+	 * @param bean thread MXBean
+	 * @return CPU time in nanoseconds, or -1 when not supported
+	 */
+	private static long cpuTime(ThreadMXBean bean) {
+		return bean.isCurrentThreadCpuTimeSupported() ? bean.getCurrentThreadCpuTime() : -1;
+	}
+
+	/**
+	 * Get number of bytes allocated by the current thread
+	 *
+	 * @param bean thread MXBean
+	 * @return allocated bytes, or -1 when not supported
+	 */
+	private static long allocatedBytes(ThreadMXBean bean) {
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+			if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+				return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the phases as a JSON object
+	 *
+	 * @param indent indentation of the object
+	 * @return JSON
+	 */
+	synchronized String phasesJson(String indent) {
+		StringBuilder sb = new StringBuilder("{");
+		List<String> entries = new ArrayList<>();
+		phases.forEach((name, p) -> {
+			StringBuilder e = new StringBuilder();
+			e.append(indent).append("\t").append(quote(name)).append(": {")
+				.append("\"calls\": ").append(p.calls)
+				.append(", \"wallMs\": ").append(millis(p.wallNanos))
+				.append(", \"cpuMs\": ").append(millis(p.cpuNanos))
+				.append(", \"allocatedBytes\": ").append(p.allocatedBytes);
+			p.counters.forEach((k, v) -> e.append(", ").append(quote(k)).append(": ").append(v));
+			entries.add(e.append("}").toString());
+		});
+		if (!entries.isEmpty()) {
+			sb.append("\n").append(String.join(",\n", entries)).append("\n").append(indent);
+		}
+		return sb.append("}").toString();
+	}
+
+	/**
+	 * Get report of one vocabulary as JSON
+	 *
+	 * @param name vocabulary name
+	 * @return JSON
+	 */
+	public String toJson(String name) {
+		return "{\n\t\"vocabulary\": " + quote(name) + ",\n\t\"phases\": " + phasesJson("\t") + "\n}\n";
+	}
+
+	/**
+	 * Get report of several vocabularies as JSON, with the totals of all of them
+	 *
+	 * @param metrics metrics per vocabulary
+	 * @return JSON
+	 */
+	public static String toJson(Map<String,Metrics> metrics) {
+		Metrics total = new Metrics();
+		List<String> entries = new ArrayList<>();
+		metrics.forEach((name, m) -> {
+			total.add(m);
+			entries.add("\t\t" + quote(name) + ": " + m.phasesJson("\t\t"));
+		});
+		StringBuilder sb = new StringBuilder("{\n\t\"vocabularies\": {");
+		if (!entries.isEmpty()) {
+			sb.append("\n").append(String.join(",\n", entries)).append("\n\t");
+		}
+		return sb.append("},\n\t\"total\": ").append(total.phasesJson("\t")).append("\n}\n").toString();
+	}
+
+	/**
+	 * Write a JSON report
+	 *
+	 * @param file output file
+	 * @param json JSON
+	 * @throws IOException
+	 */
+	public static void write(Path file, String json) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		GenerationCache.writeIfChanged(file, json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Format nanoseconds as milliseconds
+	 *
+	 * @param nanos nanoseconds
+	 * @return milliseconds with 3 decimals
+	 */
+	static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+	}
+
+	/**
+	 * Quote a JSON string
+	 *
+	 * @param s string
+	 * @return quoted and escaped string
+	 */
+	private static String quote(String s) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
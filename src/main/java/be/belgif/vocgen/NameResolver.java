@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps track of the java identifiers used in a generated class, and resolves clashes
+ * between classes, properties and individuals (e.g. class "Name" and property "name" both becoming NAME).
+ *
+ * The first term keeps its name, next ones get a suffix (like _PROP or _INDIV) and/or a number.
+ * Since the terms are processed in sorted order, the result is deterministic.
+ *
+ * @author Bart.Hanssens
+ */
+class NameResolver {
+	private final Set<String> used;
+
+	/**
+	 * Constructor
+	 *
+	 * @param reserved names already used in the generated class, e.g. NAMESPACE
+	 */
+	NameResolver(Collection<String> reserved) {
+		this.used = new HashSet<>(reserved);
+	}
+
+	/**
+	 * Get a unique java identifier
+	 *
+	 * @param name identifier
+	 * @param suffix suffix to add in case of a clash, or null
+	 * @return unique identifier
+	 */
+	String resolve(String name, String suffix) {
+		if (used.add(name)) {
+			return name;
+		}
+		String candidate = (suffix != null) ? name + suffix : name;
+		if (used.add(candidate)) {
+			return candidate;
+		}
+		for (int i = 2; ; i++) {
+			String numbered = candidate + "_" + i;
+			if (used.add(numbered)) {
+				return numbered;
+			}
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Single pass normalizer, turning local names into valid java identifiers.
+ *
+ * @author Bart.Hanssens
+ */
+public final class Names {
+	/**
+	 * Java keywords and literals, which cannot be used as identifier
+	 */
+	private static final Set<String> KEYWORDS = Set.of(
+		"abstract", "continue", "for", "new", "switch", "assert", "default", "goto", "package", "synchronized",
+		"boolean", "do", "if", "private", "this", "break", "double", "implements", "protected", "throw",
+		"byte", "else", "import", "public", "throws", "case", "enum", "instanceof", "return", "transient",
+		"catch", "extends", "int", "short", "try", "char", "final", "interface", "static", "void",
+		"class", "finally", "long", "strictfp", "volatile", "const", "float", "native", "super", "while",
+		"true", "false", "null", "_");
+
+	private Names() {
+	}
+
+	/**
+	 * Check if a string is a java keyword or literal
+	 *
+	 * @param s string
+	 * @return true if keyword
+	 */
+	public static boolean isKeyword(String s) {
+		return KEYWORDS.contains(s);
+	}
+
+	/**
+	 * Check if a local name can be used as-is, i.e. a valid java identifier that does not start with underscore
+	 *
+	 * @param s local name
+	 * @return true if nothing has to be changed
+	 */
+	private static boolean isSafe(String s) {
+		int len = s.length();
+		if (len == 0 || s.charAt(0) == '_' || !Character.isJavaIdentifierStart(s.codePointAt(0))) {
+			return false;
+		}
+		for (int i = Character.charCount(s.codePointAt(0)); i < len; ) {
+			int cp = s.codePointAt(i);
+			if (!Character.isJavaIdentifierPart(cp)) {
+				return false;
+			}
+			i += Character.charCount(cp);
+		}
+		return !KEYWORDS.contains(s);
+	}
+
+	/**
+	 * Transform a local name into a valid java identifier, keeping the case.
+	 *
+	 * One leading underscore is removed, characters not allowed in java identifiers are replaced by an underscore,
+	 * an underscore is added in front of names starting with e.g. a digit and after java keywords.
+	 *
+	 * @param s local name
+	 * @return java identifier
+	 */
+	public static String toSafeJavaName(String s) {
+		if (isSafe(s)) {
+			return s;
+		}
+		StringBuilder sb = new StringBuilder(s.length() + 1);
+		append(sb, s, false);
+		String res = sb.toString();
+		return KEYWORDS.contains(res) ? res + "_" : res;
+	}
+
+	/**
+	 * Capitalize and transform local name to a valid constant for RDF4J, i.e. ALL_CAPS_SNAKE_CASE.
+	 *
+	 * Besides the rules of {@link #toSafeJavaName(String)}, an underscore is added between a lower case and
+	 * an upper case letter.
+	 *
+	 * @param s local name of the class / property
+	 * @return normalized string
+	 */
+	public static String snakeCase(String s) {
+		// namespace and prefix are already used in RDF4J vocabulary class
+		if (s.equals("namespace") || s.equals("prefix")) {
+			return s.toUpperCase(Locale.ROOT) + "_PROP";
+		}
+		StringBuilder sb = new StringBuilder(s.length() + 8);
+		boolean ascii = append(sb, s, true);
+		// only the rare non-ASCII names need the full unicode rules (e.g. sharp s becomes SS)
+		String res = ascii ? sb.toString() : sb.toString().toUpperCase(Locale.ROOT);
+		// upper case never matches a keyword, except for the underscore
+		return KEYWORDS.contains(res) ? res + "_" : res;
+	}
+
+	/**
+	 * Append normalized local name
+	 *
+	 * @param sb string builder
+	 * @param s local name
+	 * @param snake snake case, i.e. all caps and underscore between lower and upper case
+	 * @return true if only ASCII characters were found
+	 */
+	private static boolean append(StringBuilder sb, String s, boolean snake) {
+		boolean ascii = true;
+		int prev = 0;
+		int len = s.length();
+		int i = (len > 0 && s.charAt(0) == '_') ? 1 : 0;
+
+		while (i < len) {
+			int cp = s.codePointAt(i);
+			i += Character.charCount(cp);
+
+			if (!Character.isJavaIdentifierPart(cp)) {
+				cp = '_';
+			}
+			if (sb.length() == 0 && !Character.isJavaIdentifierStart(cp)) {
+				sb.append('_');
+			}
+			if (snake) {
+				if (cp >= 'A' && cp <= 'Z' && prev >= 'a' && prev <= 'z') {
+					sb.append('_');
+				}
+				prev = cp;
+				if (cp >= 'a' && cp <= 'z') {
+					cp -= 'a' - 'A';
+				} else if (cp > 127) {
+					ascii = false;
+				}
+			}
+			sb.appendCodePoint(cp);
+		}
+		if (sb.length() == 0) {
+			sb.append('_');
+		}
+		return ascii;
+	}
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Ontology input, decompressing gzip and zip files while reading.
+ *
+ * Compression is detected from the file name or the first bytes of the file.
+ * The RDF format is guessed from the (uncompressed) file name, or from the first bytes of the content
+ * when the file name has no known extension.
+ * Compressed input is decompressed on a separate thread, so decompression and parsing overlap.
+ *
+ * @author Bart.Hanssens
+ */
+class OntologyInput implements Closeable {
+	/**
+	 * Size of read buffers
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Number of decompressed buffers the decompression thread may read ahead
+	 */
+	private static final int READ_AHEAD = 16;
+
+	/**
+	 * Number of bytes used for sniffing the format
+	 */
+	private static final int SNIFF_SIZE = 1024;
+
+	private final InputStream in;
+	private final RDFFormat format;
+	private final boolean compressed;
+
+	/**
+	 * Constructor
+	 *
+	 * @param in input stream
+	 * @param format RDF format
+	 * @param compressed true if the file is compressed
+	 */
+	private OntologyInput(InputStream in, RDFFormat format, boolean compressed) {
+		this.in = in;
+		this.format = format;
+		this.compressed = compressed;
+	}
+
+	/**
+	 * Get the (decompressed) input stream
+	 *
+	 * @return input stream
+	 */
+	InputStream getStream() {
+		return in;
+	}
+
+	/**
+	 * Get the RDF format
+	 *
+	 * @return RDF format
+	 */
+	RDFFormat getFormat() {
+		return format;
+	}
+
+	/**
+	 * Check if the input was compressed
+	 *
+	 * @return true if compressed
+	 */
+	boolean isCompressed() {
+		return compressed;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Open an ontology file, optionally looking on the classpath first.
+	 *
+	 * @param file input file
+	 * @param searchForFileOnClasspath look on classpath first
+	 * @return ontology input
+	 * @throws IOException
+	 */
+	static OntologyInput open(String file, boolean searchForFileOnClasspath) throws IOException {
+		BufferedInputStream raw = new BufferedInputStream(openRaw(file, searchForFileOnClasspath), BUFFER_SIZE);
+		try {
+			String name = file.toLowerCase(Locale.ROOT);
+			byte[] magic = peek(raw, 4);
+			InputStream in;
+			if (name.endsWith(".gz") || (magic[0] == (byte) 0x1f && magic[1] == (byte) 0x8b)) {
+				name = name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+				in = new GZIPInputStream(raw, BUFFER_SIZE);
+			} else if (name.endsWith(".zip") || (magic[0] == 'P' && magic[1] == 'K'
+											&& magic[2] == 3 && magic[3] == 4)) {
+				ZipInputStream zip = new ZipInputStream(raw);
+				name = firstEntry(zip, file).getName().toLowerCase(Locale.ROOT);
+				in = zip;
+			} else {
+				return new OntologyInput(raw, getFormat(name, raw), false);
+			}
+			BufferedInputStream buffered = new BufferedInputStream(new DecompressingInputStream(in), BUFFER_SIZE);
+			return new OntologyInput(buffered, getFormat(name, buffered), true);
+		} catch (IOException|RuntimeException e) {
+			raw.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Open an input file as-is, optionally looking on the classpath first
+	 *
+	 * @param file input file
+	 * @param searchForFileOnClasspath look on classpath first
+	 * @return input stream
+	 * @throws IOException
+	 */
+	static InputStream openRaw(String file, boolean searchForFileOnClasspath) throws IOException {
+		if (searchForFileOnClasspath) {
+			InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
+			if (in != null) {
+				return in;
+			}
+		}
+		return new FileInputStream(file);
+	}
+
+	/**
+	 * Check if a file is compressed, judging by its name
+	 *
+	 * @param file file name
+	 * @return true if compressed
+	 */
+	static boolean isCompressed(String file) {
+		String name = file.toLowerCase(Locale.ROOT);
+		return name.endsWith(".gz") || name.endsWith(".zip");
+	}
+
+	/**
+	 * Skip to the first file in a zip archive
+	 *
+	 * @param zip zip input stream
+	 * @param file name of the zip file
+	 * @return zip entry
+	 * @throws IOException when the archive does not contain any file
+	 */
+	private static ZipEntry firstEntry(ZipInputStream zip, String file) throws IOException {
+		for (ZipEntry e = zip.getNextEntry(); e != null; e = zip.getNextEntry()) {
+			if (!e.isDirectory()) {
+				return e;
+			}
+		}
+		throw new IOException("No file found in " + file);
+	}
+
+	/**
+	 * Read the first bytes of a stream, without consuming them
+	 *
+	 * @param in input stream
+	 * @param len number of bytes
+	 * @return bytes, padded with zeroes if the stream is shorter
+	 * @throws IOException
+	 */
+	private static byte[] peek(BufferedInputStream in, int len) throws IOException {
+		byte[] buf = new byte[len];
+		in.mark(len);
+		in.readNBytes(buf, 0, len);
+		in.reset();
+		return buf;
+	}
+
+	/**
+	 * Get the format from the file name, or by sniffing the first bytes
+	 *
+	 * @param name (uncompressed) file name
+	 * @param in input stream
+	 * @return RDF format
+	 * @throws IOException
+	 */
+	private static RDFFormat getFormat(String name, BufferedInputStream in) throws IOException {
+		RDFFormat fmt = Rio.getParserFormatForFileName(name).orElse(null);
+		return (fmt != null) ? fmt : sniff(peek(in, SNIFF_SIZE));
+	}
+
+	/**
+	 * Guess the format from the first bytes of the content.
+	 * Turtle is returned when nothing else matches, since it is a superset of N-Triples.
+	 *
+	 * @param head first bytes
+	 * @return RDF format
+	 */
+	static RDFFormat sniff(byte[] head) {
+		String s = new String(head, StandardCharsets.UTF_8).replace("\uFEFF", "").stripLeading();
+		if (s.startsWith("<?xml") || s.startsWith("<rdf:RDF")) {
+			return RDFFormat.RDFXML;
+		}
+		if (s.startsWith("{") || s.startsWith("[")) {
+			return RDFFormat.JSONLD;
+		}
+		if (s.startsWith("<") || s.startsWith("_:")) {
+			// N-Quads has a fourth term before the final dot
+			int eol = s.indexOf('\n');
+			String line = (eol > 0) ? s.substring(0, eol).strip() : "";
+			line = line.replaceAll("\"(?:[^\"\\\\]|\\\\.)*\"\\S*", "L");
+			if (line.endsWith(".") && line.split("\\s+").length == 5) {
+				return RDFFormat.NQUADS;
+			}
+		}
+		return RDFFormat.TURTLE;
+	}
+
+	/**
+	 * Input stream reading from another stream on a separate thread, so e.g. decompression
+	 * can run while the caller is parsing the previous buffers.
+	 * Closing the stream stops the thread and closes the underlying stream.
+	 */
+	private static class DecompressingInputStream extends InputStream {
+		private static final ByteBuffer EOF = ByteBuffer.allocate(0);
+
+		private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(READ_AHEAD + 1);
+		private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(READ_AHEAD + 2);
+		private final Thread thread;
+		private volatile Throwable error;
+		private ByteBuffer current;
+		private boolean eof;
+
+		DecompressingInputStream(InputStream source) {
+			thread = new Thread(() -> fill(source), "vocgen-decompress");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		/**
+		 * Read the source into buffers, until the end of the stream or until interrupted.
+		 * Any failure is passed to the reader, and the end of the stream is always signalled.
+		 *
+		 * @param source source stream
+		 */
+		private void fill(InputStream source) {
+			try (source) {
+				while (true) {
+					ByteBuffer buf = free.poll();
+					if (buf == null) {
+						buf = ByteBuffer.allocate(BUFFER_SIZE);
+					}
+					int len = source.readNBytes(buf.array(), 0, BUFFER_SIZE);
+					if (len > 0) {
+						buf.position(0).limit(len);
+						full.put(buf);
+					}
+					if (len < BUFFER_SIZE) {
+						break;
+					}
+				}
+			} catch (InterruptedException e) {
+				// closed by the reader, the put below will not block
+				Thread.currentThread().interrupt();
+			} catch (Throwable t) {
+				error = t;
+			} finally {
+				try {
+					full.put(EOF);
+				} catch (InterruptedException e) {
+					// closed by the reader
+				}
+			}
+		}
+
+		/**
+		 * Get the current buffer, or the next one if the current one is empty
+		 *
+		 * @return buffer or null at the end of the stream
+		 * @throws IOException
+		 */
+		private ByteBuffer next() throws IOException {
+			if (current != null && current.hasRemaining()) {
+				return current;
+			}
+			if (eof) {
+				return null;
+			}
+			if (current != null) {
+				free.offer(current);
+			}
+			try {
+				current = full.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while reading", e);
+			}
+			if (current == EOF) {
+				eof = true;
+				current = null;
+				if (error instanceof IOException) {
+					throw (IOException) error;
+				}
+				if (error != null) {
+					throw new IOException("Reading failed", error);
+				}
+				return null;
+			}
+			return current;
+		}
+
+		@Override
+		public int read() throws IOException {
+			ByteBuffer buf = next();
+			return (buf != null) ? buf.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			ByteBuffer buf = next();
+			if (buf == null) {
+				return -1;
+			}
+			int n = Math.min(len, buf.remaining());
+			buf.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return (current != null) ? current.remaining() : 0;
+		}
+
+		@Override
+		public void close() throws IOException {
+			thread.interrupt();
+			full.clear();
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while closing", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Destination of the generated files: a directory, or a single zip or jar file.
+ *
+ * Files are laid out in package directories, e.g. <code>org/w3/vocab/RDF.java</code>.
+ * Archives have deterministic timestamps, so the same input results in the same archive.
+ *
+ * @author Bart.Hanssens
+ */
+public interface OutputSink extends Closeable {
+	/**
+	 * Write a file
+	 *
+	 * @param path path relative to the root of the sink, using slashes
+	 * @param content content
+	 * @return true if the file was written, false if it was unchanged
+	 * @throws IOException
+	 */
+	boolean write(String path, byte[] content) throws IOException;
+
+	/**
+	 * Write a java source (and its binary dictionary, if any) in its package directory
+	 *
+	 * @param source source
+	 * @return number of files written
+	 * @throws IOException
+	 */
+	default int write(GenerationResult.Source source) throws IOException {
+		return write(source, "");
+	}
+
+	/**
+	 * Write a java source (and its binary dictionary, if any) in its package directory, below a prefix,
+	 * e.g. to keep the sources of several templates of the same vocabulary apart
+	 *
+	 * @param source source
+	 * @param prefix path prefix, empty or ending with a slash
+	 * @return number of files written
+	 * @throws IOException
+	 */
+	default int write(GenerationResult.Source source, String prefix) throws IOException {
+		int written = 0;
+		String path = prefix + source.getPath();
+		byte[] dictionary = source.getDictionary();
+		if (dictionary != null && write(path + ".dict", dictionary)) {
+			written++;
+		}
+		if (write(path + ".java", source.getSource().getBytes(StandardCharsets.UTF_8))) {
+			written++;
+		}
+		return written;
+	}
+
+	/**
+	 * Open a zip sink when the file name ends with .zip, a jar sink when it ends with .jar,
+	 * or a directory sink otherwise
+	 *
+	 * @param target zip file, jar file or directory
+	 * @return sink
+	 * @throws IOException
+	 */
+	static OutputSink open(Path target) throws IOException {
+		String name = target.getFileName().toString().toLowerCase(Locale.ROOT);
+		if (name.endsWith(".zip") || name.endsWith(".jar")) {
+			return new ZipSink(target, name.endsWith(".jar"));
+		}
+		return new DirectorySink(target);
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parse line based N-Triples and N-Quads files in parallel.
+ *
+ * The file is memory-mapped and split into chunks at line boundaries, each chunk is parsed by a worker thread
+ * and the results are merged in file order.
+ * Blank node identifiers are preserved, so a blank node used in several chunks remains the same node.
+ * Line numbers in parse errors are relative to the start of the chunk.
+ *
+ * @author Bart.Hanssens
+ */
+class ParallelLoader {
+	/**
+	 * Minimum size of a chunk, smaller files are not worth splitting
+	 */
+	static final int MIN_CHUNK = 1 << 20;
+
+	/**
+	 * Maximum size of a chunk, leaving room for finishing the last line within one mapped buffer
+	 */
+	private static final int MAX_CHUNK = 1 << 30;
+
+	/**
+	 * Number of chunks per thread, to even out differences in parsing speed
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private ParallelLoader() {
+	}
+
+	/**
+	 * Check if a format can be split at line boundaries
+	 *
+	 * @param fmt RDF format
+	 * @return true if line based
+	 */
+	static boolean supports(RDFFormat fmt) {
+		return RDFFormat.NTRIPLES.equals(fmt) || RDFFormat.NQUADS.equals(fmt);
+	}
+
+	/**
+	 * Parse a file into an RDF model, using a number of threads
+	 *
+	 * @param file N-Triples or N-Quads file
+	 * @param fmt RDF format
+	 * @param base namespace URI
+	 * @param streaming only keep the triples needed for generating the vocabulary
+	 * @param threads number of threads
+	 * @return RDF model
+	 * @throws IOException
+	 */
+	static Model load(Path file, RDFFormat fmt, String base, boolean streaming, int threads) throws IOException {
+		return load(file, fmt, base, streaming, threads, MIN_CHUNK);
+	}
+
+	/**
+	 * Parse a file into an RDF model, using a number of threads and a minimum chunk size
+	 *
+	 * @param file N-Triples or N-Quads file
+	 * @param fmt RDF format
+	 * @param base namespace URI
+	 * @param streaming only keep the triples needed for generating the vocabulary
+	 * @param threads number of threads
+	 * @param minChunk minimum chunk size in bytes
+	 * @return RDF model
+	 * @throws IOException
+	 */
+	static Model load(Path file, RDFFormat fmt, String base, boolean streaming, int threads, int minChunk)
+																					throws IOException {
+		List<ByteBuffer> chunks = new ArrayList<>();
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = ch.size();
+			long target = Math.min(MAX_CHUNK, Math.max(minChunk, size / ((long) threads * CHUNKS_PER_THREAD) + 1));
+			for (long start = 0; start < size; ) {
+				long end = (size - start <= target) ? size : nextLine(ch, start + target);
+				if (end - start > Integer.MAX_VALUE) {
+					throw new IOException("Line too long at offset " + (start + target) + " in " + file);
+				}
+				// mapped buffers remain valid when the channel is closed
+				chunks.add(ch.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+				start = end;
+			}
+		}
+		if (chunks.size() == 1) {
+			return parse(chunks.get(0), fmt, base, streaming);
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, chunks.size())));
+		List<Future<Model>> results = new ArrayList<>(chunks.size());
+		try {
+			for (ByteBuffer chunk: chunks) {
+				results.add(pool.submit(() -> parse(chunk, fmt, base, streaming)));
+			}
+			List<Model> models = new ArrayList<>(results.size());
+			int total = 0;
+			for (Future<Model> f: results) {
+				Model m = f.get();
+				models.add(m);
+				total += m.size();
+			}
+			Model model = new LinkedHashModel(total);
+			for (Model m: models) {
+				model.addAll(m);
+			}
+			return model;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException("Could not parse " + file, cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while parsing " + file, e);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Find the start of the next line, at or after a position
+	 *
+	 * @param ch file channel
+	 * @param pos position
+	 * @return position after the next newline, or the size of the file
+	 * @throws IOException
+	 */
+	private static long nextLine(FileChannel ch, long pos) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(8192);
+		long size = ch.size();
+		while (pos < size) {
+			buf.clear();
+			int len = ch.read(buf, pos);
+			for (int i = 0; i < len; i++) {
+				if (buf.get(i) == '\n') {
+					return pos + i + 1;
+				}
+			}
+			pos += len;
+		}
+		return size;
+	}
+
+	/**
+	 * Parse one chunk
+	 *
+	 * @param chunk part of the file, starting and ending at a line boundary
+	 * @param fmt RDF format
+	 * @param base namespace URI
+	 * @param streaming only keep the triples needed for generating the vocabulary
+	 * @return RDF model
+	 * @throws IOException
+	 */
+	private static Model parse(ByteBuffer chunk, RDFFormat fmt, String base, boolean streaming) throws IOException {
+		Model model = new LinkedHashModel();
+		TermHandler terms = streaming ? new TermHandler(base) : null;
+		RDFHandler handler = streaming ? terms : new StatementCollector(model);
+
+		RDFParser parser = Rio.createParser(fmt);
+		parser.getParserConfig().set(BasicParserSettings.PRESERVE_BNODE_IDS, true);
+		parser.setRDFHandler(handler);
+		parser.parse(new BufferInputStream(chunk), base);
+		return streaming ? terms.getModel() : model;
+	}
+
+	/**
+	 * Input stream reading a byte buffer, without copying it first
+	 */
+	private static class BufferInputStream extends InputStream {
+		private final ByteBuffer buf;
+
+		BufferInputStream(ByteBuffer buf) {
+			this.buf = buf;
+		}
+
+		@Override
+		public int read() {
+			return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!buf.hasRemaining()) {
+				return -1;
+			}
+			int n = Math.min(len, buf.remaining());
+			buf.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return buf.remaining();
+		}
+	}
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.cli.*;
+import org.eclipse.rdf4j.rio.RDFParseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Generate vocabularies on request, using a local HTTP endpoint, so the JVM, RDF4J and freemarker stay warm.
+ *
+ * <code>POST /generate</code> takes the long command line option names as query parameters,
+ * e.g. <code>?short=RDF&amp;ns=...&amp;template=rdf4j</code>.
+ * The ontology is either the request body (the <code>file</code> parameter then only serves as a file name
+ * hint for compression and format), or the <code>file</code> path on the server.
+ * The response is the java source, or a zip file when there are several files or when <code>zip=true</code>.
+ * <code>GET /metrics</code> returns the request latencies and the totals per generation phase.
+ *
+ * The server only listens on the loopback interface, since it reads files named in the request.
+ *
+ * @author Bart.Hanssens
+ */
+public class Server implements Closeable {
+	/**
+	 * Command line options for server mode
+	 */
+	private static final Options OPTS = new Options()
+			.addOption(Option.builder("sv").longOpt("server").required().hasArg().desc("listen on this local port (0: any free port)").build())
+			.addOption(Option.builder("th").longOpt("threads").hasArg().desc("number of worker threads").required(false).build());
+
+	/**
+	 * Options writing files on the server or blocking, which make no sense in a request
+	 */
+	private static final Set<String> UNSUPPORTED = Set.of("archive", "compile", "compile-classpath", "incremental",
+												"metrics", "output-dir", "template-output-dir", "watch");
+
+	private final HttpServer http;
+	private final ExecutorService pool;
+	private final Generator generator = new Generator(Main.getConfig());
+	private final Latency latency = new Latency();
+	private final Metrics phases = new Metrics();
+
+	/**
+	 * Check if the command line requests server mode
+	 *
+	 * @param args command line arguments
+	 * @return true if server mode
+	 */
+	static boolean isServer(String[] args) {
+		return Arrays.stream(args).anyMatch(a -> a.equals("-sv") || a.equals("--server"));
+	}
+
+	/**
+	 * Constructor, the server is not started yet
+	 *
+	 * @param port port on the loopback interface, 0 for any free port
+	 * @param threads number of worker threads
+	 * @throws IOException
+	 */
+	Server(int port, int threads) throws IOException {
+		http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		pool = Executors.newFixedThreadPool(threads);
+		http.setExecutor(pool);
+		http.createContext("/generate", this::generate);
+		http.createContext("/metrics", this::metrics);
+	}
+
+	/**
+	 * Start listening
+	 */
+	void start() {
+		http.start();
+	}
+
+	/**
+	 * Get the port the server is listening on
+	 *
+	 * @return port
+	 */
+	int getPort() {
+		return http.getAddress().getPort();
+	}
+
+	/**
+	 * Handle generation request
+	 *
+	 * @param ex HTTP exchange
+	 * @throws IOException
+	 */
+	private void generate(HttpExchange ex) throws IOException {
+		long start = System.nanoTime();
+		boolean ok = false;
+		Path upload = null;
+		try {
+			if (!ex.getRequestMethod().equals("POST")) {
+				send(ex, 405, "text/plain", "Use POST\n".getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+			Map<String,String> params = getParams(ex.getRequestURI().getRawQuery());
+			boolean zip = Boolean.parseBoolean(params.remove("zip"));
+
+			String hint = params.getOrDefault("file", "upload");
+			upload = Files.createTempFile("vocgen-", "-" + Path.of(hint).getFileName());
+			try (OutputStream out = Files.newOutputStream(upload)) {
+				ex.getRequestBody().transferTo(out);
+			}
+			if (Files.size(upload) > 0) {
+				params.put("file", upload.toString());
+				params.remove("searchClasspath");
+			}
+
+			GeneratorOptions opts = new Main().getOptions(Main.parseArgs(toArgs(params)), true);
+			GenerationResult result = generator.generate(opts);
+			phases.add(result.getMetrics());
+
+			List<GenerationResult.Source> sources = result.getSources();
+			if (!zip && sources.size() == 1 && sources.get(0).getDictionary() == null) {
+				send(ex, 200, "text/x-java-source; charset=utf-8",
+						sources.get(0).getSource().getBytes(StandardCharsets.UTF_8));
+			} else {
+				send(ex, 200, "application/zip", zip(sources));
+			}
+			ok = true;
+		} catch (ParseException|IllegalArgumentException|RDFParseException
+					|FileNotFoundException|NoSuchFileException e) {
+			sendError(ex, 400, e);
+		} catch (Exception e) {
+			sendError(ex, 500, e);
+		} finally {
+			ex.close();
+			if (upload != null) {
+				Files.deleteIfExists(upload);
+			}
+			latency.record(System.nanoTime() - start, ok);
+		}
+	}
+
+	/**
+	 * Handle metrics request
+	 *
+	 * @param ex HTTP exchange
+	 * @throws IOException
+	 */
+	private void metrics(HttpExchange ex) throws IOException {
+		try {
+			String json = "{\n\t\"requests\": " + latency.toJson() + ",\n\t\"phases\": " + phases.phasesJson("\t") + "\n}\n";
+			send(ex, 200, "application/json", json.getBytes(StandardCharsets.UTF_8));
+		} finally {
+			ex.close();
+		}
+	}
+
+	/**
+	 * Send a response
+	 *
+	 * @param ex HTTP exchange
+	 * @param status HTTP status code
+	 * @param type content type
+	 * @param body response body
+	 * @throws IOException
+	 */
+	private static void send(HttpExchange ex, int status, String type, byte[] body) throws IOException {
+		ex.getResponseHeaders().set("Content-Type", type);
+		ex.sendResponseHeaders(status, body.length > 0 ? body.length : -1);
+		if (body.length > 0) {
+			ex.getResponseBody().write(body);
+		}
+	}
+
+	/**
+	 * Send an error message as plain text
+	 *
+	 * @param ex HTTP exchange
+	 * @param status HTTP status code
+	 * @param e exception
+	 * @throws IOException
+	 */
+	private static void sendError(HttpExchange ex, int status, Exception e) throws IOException {
+		String msg = (e.getMessage() != null) ? e.getMessage() : e.toString();
+		send(ex, status, "text/plain; charset=utf-8", (msg + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parse the query string
+	 *
+	 * @param query raw query string, or null
+	 * @return map of decoded parameter names and values
+	 */
+	static Map<String,String> getParams(String query) {
+		Map<String,String> params = new LinkedHashMap<>();
+		if (query == null || query.isEmpty()) {
+			return params;
+		}
+		for (String pair: query.split("&")) {
+			int eq = pair.indexOf('=');
+			String key = (eq < 0) ? pair : pair.substring(0, eq);
+			String val = (eq < 0) ? "" : pair.substring(eq + 1);
+			params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(val, StandardCharsets.UTF_8));
+		}
+		return params;
+	}
+
+	/**
+	 * Convert request parameters into command line arguments, like the entries of a batch manifest
+	 *
+	 * @param params parameters, using long option names
+	 * @return command line arguments
+	 */
+	static String[] toArgs(Map<String,String> params) {
+		List<String> args = new ArrayList<>();
+		params.forEach((k, v) -> {
+			Option o = Main.getOption(k);
+			if (o == null || !k.equals(o.getLongOpt())) {
+				throw new IllegalArgumentException("Unknown option " + k);
+			}
+			if (UNSUPPORTED.contains(k)) {
+				throw new IllegalArgumentException("Option " + k + " is not supported in server mode");
+			}
+			if (!o.hasArg()) {
+				// flags like snake-case
+				if (v.isEmpty() || Boolean.parseBoolean(v)) {
+					args.add("--" + k);
+				}
+			} else {
+				args.add("--" + k);
+				args.add(v);
+			}
+		});
+		return args.toArray(new String[0]);
+	}
+
+	/**
+	 * Zip the sources, using the package as path and fixed timestamps.
+	 * With several templates, the paths start with the name of the template.
+	 *
+	 * @param sources sources
+	 * @return zip file
+	 * @throws IOException
+	 */
+	private static byte[] zip(List<GenerationResult.Source> sources) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (ZipSink zip = new ZipSink(bos, false)) {
+			for (GenerationResult.Source s: sources) {
+				zip.write(s, sources.size() > 1 ? s.getTemplate() + "/" : "");
+			}
+		}
+		return bos.toByteArray();
+	}
+
+	@Override
+	public void close() {
+		http.stop(0);
+		pool.shutdown();
+	}
+
+	/**
+	 * Start a server, which keeps running until the JVM is stopped
+	 *
+	 * @param args command line arguments
+	 * @throws ParseException
+	 * @throws IOException
+	 */
+	public static void run(String[] args) throws ParseException, IOException {
+		CommandLine cmd;
+		try {
+			cmd = new DefaultParser().parse(OPTS, args);
+		} catch (ParseException e) {
+			HelpFormatter help = new HelpFormatter();
+			System.out.println(e.getMessage());
+			help.printHelp("VocabGen", OPTS);
+			throw e;
+		}
+		int threads = cmd.hasOption("th")
+			? Integer.parseInt(cmd.getOptionValue("th"))
+			: Runtime.getRuntime().availableProcessors();
+
+		Server server = new Server(Integer.parseInt(cmd.getOptionValue("sv")), Math.max(1, threads));
+		server.start();
+		System.out.println("Listening on http://" + InetAddress.getLoopbackAddress().getHostAddress()
+								+ ":" + server.getPort() + "/generate");
+	}
+
+	/**
+	 * Request latencies, with percentiles over the most recent requests
+	 */
+	static class Latency {
+		private static final int WINDOW = 1024;
+
+		private final long[] recent = new long[WINDOW];
+		private long count;
+		private long failed;
+		private long totalNanos;
+		private long maxNanos;
+
+		/**
+		 * Record a request
+		 *
+		 * @param nanos duration in nanoseconds
+		 * @param ok true if successful
+		 */
+		synchronized void record(long nanos, boolean ok) {
+			recent[(int) (count % WINDOW)] = nanos;
+			count++;
+			if (!ok) {
+				failed++;
+			}
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+		}
+
+		/**
+		 * Get latencies as JSON
+		 *
+		 * @return JSON object
+		 */
+		synchronized String toJson() {
+			long[] sorted = Arrays.copyOf(recent, (int) Math.min(count, WINDOW));
+			Arrays.sort(sorted);
+			return "{\"count\": " + count
+				+ ", \"failed\": " + failed
+				+ ", \"meanMs\": " + Metrics.millis(count > 0 ? totalNanos / count : 0)
+				+ ", \"maxMs\": " + Metrics.millis(maxNanos)
+				+ ", \"p50Ms\": " + Metrics.millis(percentile(sorted, 50))
+				+ ", \"p95Ms\": " + Metrics.millis(percentile(sorted, 95))
+				+ ", \"p99Ms\": " + Metrics.millis(percentile(sorted, 99)) + "}";
+		}
+
+		/**
+		 * Get a percentile, using the nearest rank
+		 *
+		 * @param sorted sorted values
+		 * @param p percentile
+		 * @return value or 0 when there are no values
+		 */
+		private static long percentile(long[] sorted, int p) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+			return sorted[Math.max(0, rank - 1)];
+		}
+	}
+}
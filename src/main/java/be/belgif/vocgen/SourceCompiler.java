@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Compile rendered sources in memory, without writing them to disk first or launching javac.
+ *
+ * All sources passed to one call are compiled in a single compiler invocation.
+ * Class files are generated for Java 11, like VocGen itself, and binary dictionaries are added as resources.
+ *
+ * @author Bart.Hanssens
+ */
+class SourceCompiler {
+	/**
+	 * Java release of the class files
+	 */
+	private static final String RELEASE = "11";
+
+	/**
+	 * Compile sources
+	 *
+	 * @param sources rendered sources
+	 * @param classpath class path for compiling, or null to use the class path of VocGen
+	 * @return class files and resources, sorted by path (e.g. org/w3/vocab/RDF.class)
+	 * @throws IOException when no compiler is available or when the compilation failed
+	 */
+	static SortedMap<String,byte[]> compile(List<GenerationResult.Source> sources, String classpath)
+																					throws IOException {
+		JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+		if (javac == null) {
+			throw new IOException("No java compiler available, compiling requires a JDK");
+		}
+		Map<String,ByteArrayOutputStream> classes = new TreeMap<>();
+		List<JavaFileObject> units = new ArrayList<>();
+		for (GenerationResult.Source s: sources) {
+			units.add(new SourceFile(s.getPath() + ".java", s.getSource()));
+		}
+		List<String> opts = List.of("--release", RELEASE, "-proc:none", "-classpath",
+								(classpath != null) ? classpath : System.getProperty("java.class.path"));
+
+		DiagnosticCollector<JavaFileObject> diags = new DiagnosticCollector<>();
+		try (StandardJavaFileManager std = javac.getStandardFileManager(diags, Locale.ROOT, StandardCharsets.UTF_8);
+			JavaFileManager fm = new MemoryFileManager(std, classes)) {
+			if (!javac.getTask(null, fm, diags, opts, null, units).call()) {
+				StringBuilder sb = new StringBuilder("Compilation failed");
+				for (Diagnostic<? extends JavaFileObject> d: diags.getDiagnostics()) {
+					if (d.getKind() == Diagnostic.Kind.ERROR) {
+						sb.append("\n").append(d.getSource() != null ? d.getSource().getName() : "")
+							.append(":").append(d.getLineNumber()).append(": ").append(d.getMessage(Locale.ROOT));
+					}
+				}
+				throw new IOException(sb.toString());
+			}
+		}
+
+		SortedMap<String,byte[]> files = new TreeMap<>();
+		classes.forEach((k,v) -> files.put(k, v.toByteArray()));
+		for (GenerationResult.Source s: sources) {
+			byte[] dict = s.getDictionary();
+			if (dict != null) {
+				files.put(s.getPath() + ".dict", dict);
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Write class files and resources to a sink
+	 *
+	 * @param files class files and resources
+	 * @param sink directory, zip or jar sink
+	 * @throws IOException
+	 */
+	static void write(SortedMap<String,byte[]> files, OutputSink sink) throws IOException {
+		for (Map.Entry<String,byte[]> e: files.entrySet()) {
+			sink.write(e.getKey(), e.getValue());
+		}
+	}
+
+	/**
+	 * Java source kept in memory
+	 */
+	private static class SourceFile extends SimpleJavaFileObject {
+		private final String source;
+
+		SourceFile(String path, String source) {
+			super(URI.create("string:///" + path), Kind.SOURCE);
+			this.source = source;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return source;
+		}
+	}
+
+	/**
+	 * File manager keeping the class files in memory
+	 */
+	private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+		private final Map<String,ByteArrayOutputStream> classes;
+
+		MemoryFileManager(StandardJavaFileManager fm, Map<String,ByteArrayOutputStream> classes) {
+			super(fm);
+			this.classes = classes;
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+													FileObject sibling) {
+			String path = className.replace('.', '/') + kind.extension;
+			return new SimpleJavaFileObject(URI.create("mem:///" + path), kind) {
+				@Override
+				public OutputStream openOutputStream() {
+					ByteArrayOutputStream bos = new ByteArrayOutputStream();
+					synchronized (classes) {
+						classes.put(path, bos);
+					}
+					return bos;
+				}
+			};
+		}
+	}
+}
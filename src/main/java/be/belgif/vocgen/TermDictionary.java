@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary dictionary of the terms of a vocabulary, read by the class generated with the dictionary template.
+ *
+ * The terms are sorted by the (unsigned) bytes of their UTF-8 encoded local name, so they can be found using binary search.
+ * A local name used for e.g. both a class and a property is stored once, with both flags set.
+ * All integers are big-endian, the layout is:
+ * <ul>
+ * <li>magic number and number of terms N</li>
+ * <li>N+1 offsets of the local names, N flags, N+1 offsets of the labels, N+1 offsets of the replacements</li>
+ * <li>UTF-8 encoded local names, labels and replacements, the offsets are relative to the start of this block</li>
+ * </ul>
+ *
+ * @author Bart.Hanssens
+ */
+class TermDictionary {
+	/**
+	 * Magic number "VGD1", also used as format version
+	 */
+	static final int MAGIC = 0x56474431;
+
+	static final int CLASS = 1;
+	static final int PROPERTY = 2;
+	static final int INDIVIDUAL = 4;
+	static final int DEPRECATED = 8;
+
+	/**
+	 * Term to be written
+	 */
+	private static class Term {
+		private final byte[] name;
+		private final String label;
+		private final String replacedBy;
+		private int flags;
+
+		Term(byte[] name, String label, String replacedBy) {
+			this.name = name;
+			this.label = label;
+			this.replacedBy = replacedBy;
+		}
+	}
+
+	/**
+	 * Add constants to the terms, or set the flag when the local name is already present
+	 *
+	 * @param terms terms
+	 * @param constants map of local names and constants
+	 * @param flag flag to set
+	 */
+	private static void add(Map<String,Term> terms, Map<String,Constant> constants, int flag) {
+		for (Map.Entry<String,Constant> e: constants.entrySet()) {
+			Constant c = e.getValue();
+			Term t = terms.computeIfAbsent(e.getKey(),
+				k -> new Term(k.getBytes(StandardCharsets.UTF_8), c.getLabel(), c.getReplacedBy()));
+			t.flags |= flag;
+			if (c.isDeprecated()) {
+				t.flags |= DEPRECATED;
+			}
+		}
+	}
+
+	/**
+	 * Write offsets of a list of strings, and add the strings to a block of UTF-8 encoded data
+	 *
+	 * @param out output
+	 * @param data data block
+	 * @param strs strings, null is written as an empty string
+	 * @throws IOException
+	 */
+	private static void strings(DataOutputStream out, ByteArrayOutputStream data, List<byte[]> strs) throws IOException {
+		out.writeInt(data.size());
+		for (byte[] b: strs) {
+			data.write(b);
+			out.writeInt(data.size());
+		}
+	}
+
+	/**
+	 * Get UTF-8 encoded bytes
+	 *
+	 * @param s string or null
+	 * @return bytes (empty array for null)
+	 */
+	private static byte[] utf8(String s) {
+		return (s == null) ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Build the binary dictionary
+	 *
+	 * @param classes classes
+	 * @param props properties
+	 * @param indivs individuals
+	 * @return bytes
+	 * @throws IOException
+	 */
+	static byte[] build(Map<String,Constant> classes, Map<String,Constant> props, Map<String,Constant> indivs)
+			throws IOException {
+		Map<String,Term> map = new LinkedHashMap<>();
+		add(map, classes, CLASS);
+		add(map, props, PROPERTY);
+		add(map, indivs, INDIVIDUAL);
+
+		List<Term> terms = new ArrayList<>(map.values());
+		terms.sort((a, b) -> Arrays.compareUnsigned(a.name, b.name));
+
+		List<byte[]> names = new ArrayList<>(terms.size());
+		List<byte[]> labels = new ArrayList<>(terms.size());
+		List<byte[]> replacements = new ArrayList<>(terms.size());
+		for (Term t: terms) {
+			names.add(t.name);
+			labels.add(utf8(t.label));
+			replacements.add(utf8(t.replacedBy));
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(MAGIC);
+			out.writeInt(terms.size());
+			strings(out, data, names);
+			for (Term t: terms) {
+				out.writeByte(t.flags);
+			}
+			strings(out, data, labels);
+			strings(out, data, replacements);
+			data.writeTo(out);
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.model.vocabulary.OWL;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.SKOS;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+import java.util.Set;
+
+/**
+ * RDF handler only keeping the triples needed to generate a vocabulary class,
+ * so memory usage depends on the number of terms in the namespace and on the size of the class and property
+ * hierarchies, instead of the size of the ontology (including all labels, comments and axioms).
+ *
+ * Kept are statements about terms in the namespace (type, labels, hierarchy, deprecation and replacement),
+ * all subclass and subproperty statements, and property declarations.
+ * The complete hierarchies are needed to follow chains through imported terms
+ * (e.g. ns:A subclass of ext:B, subclass of ext:C, subclass of ns:D), so the result is the same as without streaming.
+ * Terms outside the namespace do not keep their labels.
+ *
+ * @author Bart.Hanssens
+ */
+public class TermHandler extends AbstractRDFHandler {
+	private static final Set<IRI> PREDICATES = Set.of(RDF.TYPE, RDFS.SUBCLASSOF, RDFS.SUBPROPERTYOF,
+														RDFS.LABEL, SKOS.PREF_LABEL, RDFS.COMMENT,
+														OWL.DEPRECATED, DCTERMS.IS_REPLACED_BY);
+	private static final Set<IRI> PROPERTY_TYPES = Set.of(OWL.OBJECTPROPERTY, OWL.DATATYPEPROPERTY, RDF.PROPERTY);
+
+	private final String base;
+	private final Model model = new LinkedHashModel();
+
+	/**
+	 * Constructor
+	 *
+	 * @param base namespace URI as string
+	 */
+	public TermHandler(String base) {
+		this.base = base;
+	}
+
+	/**
+	 * Get the model with the kept statements
+	 *
+	 * @return model
+	 */
+	public Model getModel() {
+		return model;
+	}
+
+	/**
+	 * Check if a value is in the namespace
+	 *
+	 * @param v value
+	 * @return true if IRI in namespace
+	 */
+	private boolean inNamespace(Value v) {
+		return v.isIRI() && v.stringValue().startsWith(base);
+	}
+
+	@Override
+	public void handleStatement(Statement st) {
+		IRI pred = st.getPredicate();
+		if (!PREDICATES.contains(pred)) {
+			return;
+		}
+		Resource subj = st.getSubject();
+		Value obj = st.getObject();
+
+		if (inNamespace(subj)
+				|| ((pred.equals(RDFS.SUBCLASSOF) || pred.equals(RDFS.SUBPROPERTYOF)) && obj.isResource())
+				|| (pred.equals(RDF.TYPE) && PROPERTY_TYPES.contains(obj))) {
+			model.add(subj, pred, obj);
+		}
+	}
+}
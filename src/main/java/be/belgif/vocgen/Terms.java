@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Terms extracted from an ontology, shared by all templates rendered from the same parse.
+ *
+ * The sets and maps can't be modified, and the constants are only read by the generator: each template gets
+ * its own copies when its java identifiers are resolved.
+ *
+ * @author Bart.Hanssens
+ */
+public class Terms {
+	private final Set<Constant> classes;
+	private final Set<Constant> props;
+	private final Set<Constant> indivs;
+	private final Map<String,String> deprecated;
+
+	/**
+	 * Constructor
+	 *
+	 * @param classes local class names and labels
+	 * @param props local property names and labels
+	 * @param indivs local individual names and labels
+	 * @param deprecated deprecated local names and their replacement
+	 */
+	Terms(Set<Constant> classes, Set<Constant> props, Set<Constant> indivs, Map<String,String> deprecated) {
+		this.classes = Collections.unmodifiableSet(classes);
+		this.props = Collections.unmodifiableSet(props);
+		this.indivs = Collections.unmodifiableSet(indivs);
+		this.deprecated = Collections.unmodifiableMap(deprecated);
+	}
+
+	/**
+	 * Get the classes
+	 *
+	 * @return set of local names and labels
+	 */
+	public Set<Constant> getClasses() {
+		return classes;
+	}
+
+	/**
+	 * Get the properties
+	 *
+	 * @return set of local names and labels
+	 */
+	public Set<Constant> getProps() {
+		return props;
+	}
+
+	/**
+	 * Get the individuals
+	 *
+	 * @return set of local names and labels
+	 */
+	public Set<Constant> getIndivs() {
+		return indivs;
+	}
+
+	/**
+	 * Get the deprecated terms
+	 *
+	 * @return map of deprecated local names and IRI of the replacement, or null if there is no replacement
+	 */
+	public Map<String,String> getDeprecated() {
+		return deprecated;
+	}
+}
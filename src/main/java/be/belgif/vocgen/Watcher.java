@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import freemarker.template.Configuration;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watch ontology files and copyright snippets, and regenerate the vocabularies using them when they change.
+ *
+ * The JVM and the freemarker configuration stay warm between runs, and bursts of file events
+ * (e.g. an editor writing a temporary file and renaming it) are merged into a single run.
+ * Only files on the file system are watched, not files found on the classpath.
+ *
+ * @author Bart.Hanssens
+ */
+class Watcher implements Closeable {
+	/**
+	 * Time to wait for more events after a change, before regenerating
+	 */
+	static final long DEBOUNCE_MS = 150;
+
+	private final Set<String> vocabs = new TreeSet<>();
+	private final Map<Path,Set<String>> files = new HashMap<>();
+	private final Consumer<Set<String>> regenerator;
+	private final WatchService service;
+
+	/**
+	 * Check if the command line requests watch mode
+	 *
+	 * @param args command line arguments
+	 * @return true if watch mode
+	 */
+	static boolean isWatch(String[] args) {
+		return Arrays.stream(args).anyMatch(a -> a.equals("-w") || a.equals("--watch"));
+	}
+
+	/**
+	 * Constructor, regenerating each changed vocabulary like a single vocabulary on the command line
+	 *
+	 * @param vocabs map of vocabulary names and command line arguments
+	 * @param cfg freemarker configuration
+	 * @throws ParseException
+	 * @throws IOException
+	 */
+	Watcher(Map<String,String[]> vocabs, Configuration cfg) throws ParseException, IOException {
+		this(vocabs, changed -> regenerate(vocabs, changed, cfg));
+	}
+
+	/**
+	 * Constructor, registering the directories of the input files
+	 *
+	 * @param vocabs map of vocabulary names and command line arguments
+	 * @param regenerator regenerates the vocabularies with the given names, reporting failures itself
+	 * @throws ParseException
+	 * @throws IOException
+	 */
+	Watcher(Map<String,String[]> vocabs, Consumer<Set<String>> regenerator) throws ParseException, IOException {
+		this.regenerator = regenerator;
+		this.service = FileSystems.getDefault().newWatchService();
+
+		Set<Path> dirs = new HashSet<>();
+		try {
+			for (Map.Entry<String,String[]> e: vocabs.entrySet()) {
+				CommandLine cmd = Main.parseArgs(e.getValue());
+				this.vocabs.add(e.getKey());
+				for (String opt: new String[] { "f", "c" }) {
+					if (cmd.hasOption(opt)) {
+						Path p = Path.of(cmd.getOptionValue(opt)).toAbsolutePath().normalize();
+						files.computeIfAbsent(p, k -> new TreeSet<>()).add(e.getKey());
+						if (p.getParent() != null && dirs.add(p.getParent())) {
+							p.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+												StandardWatchEventKinds.ENTRY_MODIFY);
+						}
+					}
+				}
+			}
+		} catch (ParseException|IOException|RuntimeException e) {
+			service.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Wait for changes and regenerate the affected vocabularies, until the watcher is closed or interrupted
+	 *
+	 * @throws IOException
+	 */
+	void run() throws IOException {
+		System.out.println("Watching " + files.size() + " files, press Ctrl-C to stop");
+		try {
+			while (true) {
+				Set<String> changed = new TreeSet<>();
+				collect(service.take(), changed);
+				// debounce: keep collecting until no events arrive for a while
+				for (WatchKey key = service.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS); key != null;
+									key = service.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) {
+					collect(key, changed);
+				}
+				if (!changed.isEmpty()) {
+					regenerator.accept(changed);
+				}
+			}
+		} catch (ClosedWatchServiceException e) {
+			// stopped
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Add the names of the vocabularies using the changed files
+	 *
+	 * @param key watch key
+	 * @param changed set of vocabulary names
+	 */
+	private void collect(WatchKey key, Set<String> changed) {
+		Path dir = (Path) key.watchable();
+		for (WatchEvent<?> ev: key.pollEvents()) {
+			if (ev.kind() == StandardWatchEventKinds.OVERFLOW) {
+				changed.addAll(vocabs);
+			} else {
+				Set<String> names = files.get(dir.resolve((Path) ev.context()));
+				if (names != null) {
+					changed.addAll(names);
+				}
+			}
+		}
+		key.reset();
+	}
+
+	/**
+	 * Regenerate vocabularies, printing a summary per vocabulary.
+	 * Failures are reported, but do not stop the watcher.
+	 *
+	 * @param vocabs map of vocabulary names and command line arguments
+	 * @param names names of the vocabularies to regenerate
+	 * @param cfg freemarker configuration
+	 */
+	static void regenerate(Map<String,String[]> vocabs, Collection<String> names, Configuration cfg) {
+		for (String name: names) {
+			long start = System.nanoTime();
+			try {
+				new Main().generateVocabulary(Main.parseArgs(vocabs.get(name)), cfg);
+				System.out.println(String.format("OK      %s (%d ms)", name,
+									TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+			} catch (Exception e) {
+				System.out.println(String.format("FAILED  %s: %s", name, e));
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		service.close();
+	}
+}
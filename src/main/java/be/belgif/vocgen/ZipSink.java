@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Stream files into a single zip or jar file, instead of writing many small files.
+ *
+ * Entries are written in the order of the calls, preceded by their (missing) parent directories.
+ * All entries get the same timestamp: <code>SOURCE_DATE_EPOCH</code> when set, or else 1980-02-01,
+ * so archives can be reproduced.
+ *
+ * @author Bart.Hanssens
+ */
+class ZipSink implements OutputSink {
+	/**
+	 * Timestamp of the entries when <code>SOURCE_DATE_EPOCH</code> is not set
+	 */
+	static final LocalDateTime DEFAULT_TIMESTAMP = LocalDateTime.of(1980, 2, 1, 0, 0);
+
+	private final LocalDateTime timestamp;
+	private final ZipOutputStream zip;
+	private final Set<String> dirs = new HashSet<>();
+
+	/**
+	 * Constructor, creating or overwriting the file
+	 *
+	 * @param file zip or jar file
+	 * @param jar true to start with a jar manifest
+	 * @throws IOException when the file could not be created or SOURCE_DATE_EPOCH is invalid
+	 */
+	ZipSink(Path file, boolean jar) throws IOException {
+		// timestamp first, so an invalid one does not overwrite the file
+		this(getTimestamp(System.getenv("SOURCE_DATE_EPOCH")), newOutputStream(file), jar);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param out output stream, closed when the sink is closed
+	 * @param jar true to start with a jar manifest
+	 * @throws IOException when SOURCE_DATE_EPOCH is invalid
+	 */
+	ZipSink(OutputStream out, boolean jar) throws IOException {
+		this(getTimestamp(System.getenv("SOURCE_DATE_EPOCH")), out, jar);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param timestamp timestamp of all entries
+	 * @param out output stream, closed when the sink is closed
+	 * @param jar true to start with a jar manifest
+	 * @throws IOException
+	 */
+	private ZipSink(LocalDateTime timestamp, OutputStream out, boolean jar) throws IOException {
+		this.timestamp = timestamp;
+		zip = new ZipOutputStream(out);
+		if (jar) {
+			write("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\nCreated-By: VocGen\r\n\r\n"
+											.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Create or overwrite a file, creating the parent directories if needed
+	 *
+	 * @param file file
+	 * @return buffered output stream
+	 * @throws IOException
+	 */
+	private static OutputStream newOutputStream(Path file) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		return new BufferedOutputStream(Files.newOutputStream(file), OntologyInput.BUFFER_SIZE);
+	}
+
+	/**
+	 * Get the timestamp of the entries
+	 *
+	 * @param epoch seconds since 1970-01-01 UTC, or null
+	 * @return local date time
+	 * @throws IOException when the epoch is not a number of seconds
+	 */
+	static LocalDateTime getTimestamp(String epoch) throws IOException {
+		if (epoch == null || epoch.isBlank()) {
+			return DEFAULT_TIMESTAMP;
+		}
+		try {
+			return LocalDateTime.ofEpochSecond(Long.parseLong(epoch.strip()), 0, ZoneOffset.UTC);
+		} catch (NumberFormatException|DateTimeException e) {
+			throw new IOException("Invalid SOURCE_DATE_EPOCH " + epoch + ", expected seconds since 1970-01-01", e);
+		}
+	}
+
+	@Override
+	public synchronized boolean write(String path, byte[] content) throws IOException {
+		for (int slash = path.indexOf('/'); slash > 0; slash = path.indexOf('/', slash + 1)) {
+			String dir = path.substring(0, slash + 1);
+			if (dirs.add(dir)) {
+				zip.putNextEntry(entry(dir));
+				zip.closeEntry();
+			}
+		}
+		zip.putNextEntry(entry(path));
+		zip.write(content);
+		zip.closeEntry();
+		return true;
+	}
+
+	/**
+	 * Create an entry with a fixed timestamp, without extended timestamp fields
+	 *
+	 * @param name entry name
+	 * @return entry
+	 */
+	private ZipEntry entry(String name) {
+		ZipEntry e = new ZipEntry(name);
+		e.setTimeLocal(timestamp);
+		return e;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		zip.close();
+	}
+}
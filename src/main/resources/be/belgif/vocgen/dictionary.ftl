@@ -0,0 +1,208 @@
+<#if copyright??>
+${copyright}
+</#if>
+package ${package};
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Terms of the ${fullname}, read from the binary term dictionary <code>${nsAlias}.dict</code>.
+ *
+ * Terms are identified by their index, use {@link #indexOf(String)} or {@link #indexOfIri(String)} to find a term.
+ *
+ * @see <a href="${url}">${fullname}</a>
+ * <#if author??>
+ *	@author ${author} </#if>
+ */
+public final class ${nsAlias} {
+	/**
+	 * The ${nsAlias} namespace: ${nsURL}
+	 */
+	public static final String NAMESPACE = "${nsURL}";
+
+	/**
+	 * Recommended prefix for the namespace: "${prefix}"
+	 */
+	public static final String PREFIX = "${prefix}";
+
+	/**
+	 * Flag set for classes
+	 */
+	public static final int CLASS = 1;
+
+	/**
+	 * Flag set for properties
+	 */
+	public static final int PROPERTY = 2;
+
+	/**
+	 * Flag set for individuals
+	 */
+	public static final int INDIVIDUAL = 4;
+
+	/**
+	 * Flag set for deprecated terms
+	 */
+	public static final int DEPRECATED = 8;
+
+	private static final int MAGIC = 0x56474431;
+
+	private static final ByteBuffer DICT;
+	private static final byte[] BYTES;
+	private static final int COUNT;
+	private static final int NAMES;
+	private static final int FLAGS;
+	private static final int LABELS;
+	private static final int REPLACEMENTS;
+	private static final int DATA;
+
+	static {
+		try (InputStream in = ${nsAlias}.class.getResourceAsStream("${nsAlias}.dict")) {
+			if (in == null) {
+				throw new IllegalStateException("Term dictionary ${nsAlias}.dict not found");
+			}
+			BYTES = in.readAllBytes();
+		} catch (IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		}
+		DICT = ByteBuffer.wrap(BYTES);
+		if (DICT.getInt(0) != MAGIC) {
+			throw new IllegalStateException("Invalid term dictionary ${nsAlias}.dict");
+		}
+		COUNT = DICT.getInt(4);
+		NAMES = 8;
+		FLAGS = NAMES + 4 * (COUNT + 1);
+		LABELS = FLAGS + COUNT;
+		REPLACEMENTS = LABELS + 4 * (COUNT + 1);
+		DATA = REPLACEMENTS + 4 * (COUNT + 1);
+	}
+
+	private ${nsAlias}() {
+	}
+
+	/**
+	 * Get the number of terms
+	 *
+	 * @return number of terms
+	 */
+	public static int size() {
+		return COUNT;
+	}
+
+	/**
+	 * Get the index of a term, using binary search
+	 *
+	 * @param localName local name
+	 * @return index or -1 when not part of this vocabulary
+	 */
+	public static int indexOf(String localName) {
+		byte[] key = localName.getBytes(StandardCharsets.UTF_8);
+		int low = 0;
+		int high = COUNT - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int start = DATA + DICT.getInt(NAMES + 4 * mid);
+			int end = DATA + DICT.getInt(NAMES + 4 * (mid + 1));
+			int cmp = Arrays.compareUnsigned(BYTES, start, end, key, 0, key.length);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the index of a term
+	 *
+	 * @param iri full IRI
+	 * @return index or -1 when not part of this vocabulary
+	 */
+	public static int indexOfIri(String iri) {
+		return iri.startsWith(NAMESPACE) ? indexOf(iri.substring(NAMESPACE.length())) : -1;
+	}
+
+	/**
+	 * Check if a local name is part of this vocabulary
+	 *
+	 * @param localName local name
+	 * @return true if part of this vocabulary
+	 */
+	public static boolean contains(String localName) {
+		return indexOf(localName) >= 0;
+	}
+
+	/**
+	 * Get the local name of a term
+	 *
+	 * @param index index
+	 * @return local name
+	 */
+	public static String localName(int index) {
+		return string(NAMES, index);
+	}
+
+	/**
+	 * Get the full IRI of a term
+	 *
+	 * @param index index
+	 * @return IRI as string
+	 */
+	public static String iri(int index) {
+		return NAMESPACE + localName(index);
+	}
+
+	/**
+	 * Get the flags of a term, e.g. {@link #CLASS}
+	 *
+	 * @param index index
+	 * @return flags
+	 */
+	public static int flags(int index) {
+		return DICT.get(FLAGS + Objects.checkIndex(index, COUNT));
+	}
+
+	/**
+	 * Get the label of a term
+	 *
+	 * @param index index
+	 * @return label
+	 */
+	public static String label(int index) {
+		return string(LABELS, index);
+	}
+
+	/**
+	 * Get the replacement of a deprecated term
+	 *
+	 * @param index index
+	 * @return IRI as string or null
+	 */
+	public static String replacedBy(int index) {
+		String str = string(REPLACEMENTS, index);
+		return str.isEmpty() ? null : str;
+	}
+
+	/**
+	 * Decode a string
+	 *
+	 * @param table position of the offsets
+	 * @param index index
+	 * @return string
+	 */
+	private static String string(int table, int index) {
+		int pos = table + 4 * Objects.checkIndex(index, COUNT);
+		int start = DICT.getInt(pos);
+		return new String(BYTES, DATA + start, DICT.getInt(pos + 4) - start, StandardCharsets.UTF_8);
+	}
+}
@@ -3,6 +3,17 @@
 </#if>
 package ${package};
 
+<#if lookup??>
+<#if shards??>
+import java.util.Arrays;
+</#if>
+import java.util.Set;
+<#if shards??>
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+</#if>
+
+</#if>
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.Individual;
@@ -14,8 +25,8 @@ import org.apache.jena.rdf.model.Resource;
  *
  * @see <a href="${url}">${fullname}</a>
  */
-public class ${nsAlias} {
-    private static final Model m = ModelFactory.createDefaultModel();
+public class ${nsAlias}<#if shards??> implements <#list shards as shard>${nsAlias}_Shard${shard?index?c}<#sep>, </#sep></#list><#if lookup??>, ${nsAlias}_Sets</#if></#if> {
+    <#if shards??>static<#else>private static</#if> final Model m = ModelFactory.createDefaultModel();
 
     /**
      * The ${nsAlias} namespace: ${nsURL}
@@ -31,12 +42,19 @@ public class ${nsAlias} {
         return NS;
     }
     
+<#if !shards??>
     // Classes
     <#list classMap as class, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
     /** <code>${const.label}</code> **/
     </#if>
-    <#if depr?seq_contains(class)>
+    <#if const.deprecated>
     @Deprecated
     </#if>
     public static final Resource ${const.name} = m.createResource(NS + "${class}");
@@ -44,10 +62,16 @@ public class ${nsAlias} {
 
     // Properties
     <#list propMap as prop, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
     /** <code>${const.label}</code> **/
     </#if>
-    <#if depr?seq_contains(prop)>
+    <#if const.deprecated>
     @Deprecated
     </#if>
     public static final Property ${const.name} = m.createProperty(NS + "${prop}");
@@ -55,12 +79,296 @@ public class ${nsAlias} {
 
     // Individuals
     <#list indivMap as ind, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+        /**
+         * <code>${const.label}</code>
+         *
+         * @deprecated replaced by <code>${const.replacedBy}</code>
+         */
+    <#elseif const.label??>
         /** <code>${const.label}</code> **/
     </#if>
-    <#if depr?seq_contains(ind)>
+    <#if const.deprecated>
     @Deprecated
     </#if>
     public static final Individual ${const.name} = m.createProperty(NS + "${ind}");
     </#list>
+<#if lookup??>
+
+    // Lookup
+    /**
+     * Immutable set of all classes
+     */
+    public static final Set<Resource> CLASSES = Set.of(
+    <#list classMap as key, const>
+        ${const.name}<#sep>,</#sep>
+    </#list>
+    );
+
+    /**
+     * Immutable set of all properties
+     */
+    public static final Set<Property> PROPERTIES = Set.of(
+    <#list propMap as key, const>
+        ${const.name}<#sep>,</#sep>
+    </#list>
+    );
+
+    /**
+     * Immutable set of all individuals
+     */
+    public static final Set<Individual> INDIVIDUALS = Set.of(
+    <#list indivMap as key, const>
+        ${const.name}<#sep>,</#sep>
+    </#list>
+    );
+
+    /**
+     * Get the constant for a local name, without reflection or allocation
+     *
+     * @param localName local name
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromLocalName(String localName) {
+        if (localName == null) {
+            return null;
+        }
+        switch (localName) {
+        <#list lookupMap as key, const>
+            case "${key}": return ${const.name};
+        </#list>
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the constant for a URI, without reflection or allocation
+     *
+     * @param uri URI
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromUri(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        switch (uri) {
+        <#list lookupMap as key, const>
+            case "${nsURL}${key}": return ${const.name};
+        </#list>
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the constant for a resource, without reflection or allocation
+     *
+     * @param resource resource
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromResource(Resource resource) {
+        return (resource == null) ? null : fromUri(resource.getURI());
+    }
+</#if>
+<#elseif lookup??>
+    // Lookup
+    private static final String[] LOOKUP_NAMES = {
+    <#list lookupShards as shard>
+        "${shard.first}"<#sep>,</#sep>
+    </#list>
+    };
+
+    private static final String[] LOOKUP_IRIS = {
+    <#list lookupShards as shard>
+        "${nsURL}${shard.first}"<#sep>,</#sep>
+    </#list>
+    };
+
+    /**
+     * Get the constant for a local name, without reflection or allocation
+     *
+     * @param localName local name
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromLocalName(String localName) {
+        if (localName == null) {
+            return null;
+        }
+        switch (lookupShard(LOOKUP_NAMES, localName)) {
+        <#list lookupShards as shard>
+            case ${shard?index?c}: return ${nsAlias}_Lookup${shard?index?c}.fromLocalName(localName);
+        </#list>
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the constant for a URI, without reflection or allocation
+     *
+     * @param uri URI
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromUri(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        switch (lookupShard(LOOKUP_IRIS, uri)) {
+        <#list lookupShards as shard>
+            case ${shard?index?c}: return ${nsAlias}_Lookup${shard?index?c}.fromUri(uri);
+        </#list>
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the constant for a resource, without reflection or allocation
+     *
+     * @param resource resource
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromResource(Resource resource) {
+        return (resource == null) ? null : fromUri(resource.getURI());
+    }
+
+    /**
+     * Get the lookup shard that may contain a key, using the first key of each shard
+     *
+     * @param first sorted first keys
+     * @param key key
+     * @return index of the shard or -1
+     */
+    private static int lookupShard(String[] first, String key) {
+        int i = Arrays.binarySearch(first, key);
+        return (i >= 0) ? i : -i - 2;
+    }
+</#if>
 }
+<#if shards??>
+<#list shards as shard>
+
+/**
+ * Part ${(shard?index + 1)?c} of ${shards?size?c} of the constants of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Shard${shard?index?c} {
+<#if shard.classMap?has_content>
+    // Classes
+    <#list shard.classMap as class, const>
+    <@constant const "Resource" "${nsAlias}.m.createResource(${nsAlias}.NS + \"${class}\")"/>
+    </#list>
+
+</#if>
+<#if shard.propMap?has_content>
+    // Properties
+    <#list shard.propMap as prop, const>
+    <@constant const "Property" "${nsAlias}.m.createProperty(${nsAlias}.NS + \"${prop}\")"/>
+    </#list>
+
+</#if>
+<#if shard.indivMap?has_content>
+    // Individuals
+    <#list shard.indivMap as indiv, const>
+    <@constant const "Individual" "${nsAlias}.m.createProperty(${nsAlias}.NS + \"${indiv}\")"/>
+    </#list>
+
+</#if>
+<#if lookup??>
+    static Stream<Resource> classes() {
+        return Stream.of(
+        <#list shard.classMap as key, const>
+            ${const.name}<#sep>,</#sep>
+        </#list>
+        );
+    }
+
+    static Stream<Property> properties() {
+        return Stream.of(
+        <#list shard.propMap as key, const>
+            ${const.name}<#sep>,</#sep>
+        </#list>
+        );
+    }
+
+    static Stream<Individual> individuals() {
+        return Stream.of(
+        <#list shard.indivMap as key, const>
+            ${const.name}<#sep>,</#sep>
+        </#list>
+        );
+    }
+</#if>
+}
+</#list>
+<#if lookup??>
+
+/**
+ * Immutable sets of all terms of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Sets {
+    /**
+     * Immutable set of all classes
+     */
+    public static final Set<Resource> CLASSES = Stream.of(
+    <#list shards as shard>
+        ${nsAlias}_Shard${shard?index?c}.classes()<#sep>,</#sep>
+    </#list>
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Immutable set of all properties
+     */
+    public static final Set<Property> PROPERTIES = Stream.of(
+    <#list shards as shard>
+        ${nsAlias}_Shard${shard?index?c}.properties()<#sep>,</#sep>
+    </#list>
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Immutable set of all individuals
+     */
+    public static final Set<Individual> INDIVIDUALS = Stream.of(
+    <#list shards as shard>
+        ${nsAlias}_Shard${shard?index?c}.individuals()<#sep>,</#sep>
+    </#list>
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+}
+<#list lookupShards as shard>
+
+/**
+ * Part ${(shard?index + 1)?c} of ${lookupShards?size?c} of the reverse lookup of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Lookup${shard?index?c} {
+    static Resource fromLocalName(String localName) {
+        switch (localName) {
+        <#list shard.lookupMap as key, const>
+            case "${key}": return ${nsAlias}.${const.name};
+        </#list>
+            default: return null;
+        }
+    }
+
+    static Resource fromUri(String uri) {
+        switch (uri) {
+        <#list shard.lookupMap as key, const>
+            case "${nsURL}${key}": return ${nsAlias}.${const.name};
+        </#list>
+            default: return null;
+        }
+    }
+}
+</#list>
+</#if>
+</#if>
+<#macro constant const type init>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
+    /** <code>${const.label}</code> **/
+    </#if>
+    <#if const.deprecated>
+    @Deprecated
+    </#if>
+    public static final ${type} ${const.name} = ${init};
+</#macro>
@@ -3,12 +3,23 @@
 </#if>
 package ${package};
 
+<#if lookup??>
+<#if shards??>
+import java.util.Arrays;
+</#if>
+import java.util.Set;
+<#if shards??>
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+</#if>
+
+</#if>
 /**
  * Constants for the ${fullname}.
  *
  * @see <a href="${url}">${fullname}</a>
  */
-public class ${nsAlias} {
+public class ${nsAlias}<#if shards??> implements <#list shards as shard>${nsAlias}_Shard${shard?index?c}<#sep>, </#sep></#list><#if lookup??>, ${nsAlias}_Sets</#if></#if> {
 
     /**
      * The ${nsAlias} namespace: ${nsURL}
@@ -23,12 +34,19 @@ public class ${nsAlias} {
         return NS;
     }
     
+<#if !shards??>
     // Classes
     <#list classMap as class, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
     /** <code>${const.label}</code> **/
     </#if>
-    <#if depr?seq_contains(class)>
+    <#if const.deprecated>
     @Deprecated
     </#if>
     public static final String ${const.name} = NS + "${class}";
@@ -36,10 +54,16 @@ public class ${nsAlias} {
 
     // Properties
     <#list propMap as prop, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
     /** <code>${const.label}</code> **/
     </#if>
-    <#if depr?seq_contains(prop)>
+    <#if const.deprecated>
     @Deprecated
     </#if>
     public static final String ${const.name} = NS + "${prop}";
@@ -47,12 +71,276 @@ public class ${nsAlias} {
 
     // Individuals
     <#list indivMap as ind, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
     /** <code>${const.label}</code> **/
     </#if>
-    <#if depr?seq_contains(ind)>
+    <#if const.deprecated>
     @Deprecated
     </#if>
     public static final String ${const.name} = NS + "${ind}";
     </#list>
+<#if lookup??>
+
+    // Lookup
+    /**
+     * Immutable set of all classes
+     */
+    public static final Set<String> CLASSES = Set.of(
+    <#list classMap as key, const>
+        ${const.name}<#sep>,</#sep>
+    </#list>
+    );
+
+    /**
+     * Immutable set of all properties
+     */
+    public static final Set<String> PROPERTIES = Set.of(
+    <#list propMap as key, const>
+        ${const.name}<#sep>,</#sep>
+    </#list>
+    );
+
+    /**
+     * Immutable set of all individuals
+     */
+    public static final Set<String> INDIVIDUALS = Set.of(
+    <#list indivMap as key, const>
+        ${const.name}<#sep>,</#sep>
+    </#list>
+    );
+
+    /**
+     * Get the constant for a local name, without reflection or allocation
+     *
+     * @param localName local name
+     * @return constant or null when not part of this vocabulary
+     */
+    public static String fromLocalName(String localName) {
+        if (localName == null) {
+            return null;
+        }
+        switch (localName) {
+        <#list lookupMap as key, const>
+            case "${key}": return ${const.name};
+        </#list>
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the constant for an IRI, without reflection or allocation
+     *
+     * @param iri IRI
+     * @return constant or null when not part of this vocabulary
+     */
+    public static String fromIri(String iri) {
+        if (iri == null) {
+            return null;
+        }
+        switch (iri) {
+        <#list lookupMap as key, const>
+            case "${nsURL}${key}": return ${const.name};
+        </#list>
+            default: return null;
+        }
+    }
+</#if>
+<#elseif lookup??>
+    // Lookup
+    private static final String[] LOOKUP_NAMES = {
+    <#list lookupShards as shard>
+        "${shard.first}"<#sep>,</#sep>
+    </#list>
+    };
+
+    private static final String[] LOOKUP_IRIS = {
+    <#list lookupShards as shard>
+        "${nsURL}${shard.first}"<#sep>,</#sep>
+    </#list>
+    };
+
+    /**
+     * Get the constant for a local name, without reflection or allocation
+     *
+     * @param localName local name
+     * @return constant or null when not part of this vocabulary
+     */
+    public static String fromLocalName(String localName) {
+        if (localName == null) {
+            return null;
+        }
+        switch (lookupShard(LOOKUP_NAMES, localName)) {
+        <#list lookupShards as shard>
+            case ${shard?index?c}: return ${nsAlias}_Lookup${shard?index?c}.fromLocalName(localName);
+        </#list>
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the constant for an IRI, without reflection or allocation
+     *
+     * @param iri IRI
+     * @return constant or null when not part of this vocabulary
+     */
+    public static String fromIri(String iri) {
+        if (iri == null) {
+            return null;
+        }
+        switch (lookupShard(LOOKUP_IRIS, iri)) {
+        <#list lookupShards as shard>
+            case ${shard?index?c}: return ${nsAlias}_Lookup${shard?index?c}.fromIri(iri);
+        </#list>
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the lookup shard that may contain a key, using the first key of each shard
+     *
+     * @param first sorted first keys
+     * @param key key
+     * @return index of the shard or -1
+     */
+    private static int lookupShard(String[] first, String key) {
+        int i = Arrays.binarySearch(first, key);
+        return (i >= 0) ? i : -i - 2;
+    }
+</#if>
 }
+<#if shards??>
+<#list shards as shard>
+
+/**
+ * Part ${(shard?index + 1)?c} of ${shards?size?c} of the constants of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Shard${shard?index?c} {
+<#if shard.classMap?has_content>
+    // Classes
+    <#list shard.classMap as class, const>
+    <@constant const "String" "${nsAlias}.NS + \"${class}\""/>
+    </#list>
+
+</#if>
+<#if shard.propMap?has_content>
+    // Properties
+    <#list shard.propMap as prop, const>
+    <@constant const "String" "${nsAlias}.NS + \"${prop}\""/>
+    </#list>
+
+</#if>
+<#if shard.indivMap?has_content>
+    // Individuals
+    <#list shard.indivMap as indiv, const>
+    <@constant const "String" "${nsAlias}.NS + \"${indiv}\""/>
+    </#list>
+
+</#if>
+<#if lookup??>
+    static Stream<String> classes() {
+        return Stream.of(
+        <#list shard.classMap as key, const>
+            ${const.name}<#sep>,</#sep>
+        </#list>
+        );
+    }
+
+    static Stream<String> properties() {
+        return Stream.of(
+        <#list shard.propMap as key, const>
+            ${const.name}<#sep>,</#sep>
+        </#list>
+        );
+    }
+
+    static Stream<String> individuals() {
+        return Stream.of(
+        <#list shard.indivMap as key, const>
+            ${const.name}<#sep>,</#sep>
+        </#list>
+        );
+    }
+</#if>
+}
+</#list>
+<#if lookup??>
+
+/**
+ * Immutable sets of all terms of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Sets {
+    /**
+     * Immutable set of all classes
+     */
+    public static final Set<String> CLASSES = Stream.of(
+    <#list shards as shard>
+        ${nsAlias}_Shard${shard?index?c}.classes()<#sep>,</#sep>
+    </#list>
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Immutable set of all properties
+     */
+    public static final Set<String> PROPERTIES = Stream.of(
+    <#list shards as shard>
+        ${nsAlias}_Shard${shard?index?c}.properties()<#sep>,</#sep>
+    </#list>
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Immutable set of all individuals
+     */
+    public static final Set<String> INDIVIDUALS = Stream.of(
+    <#list shards as shard>
+        ${nsAlias}_Shard${shard?index?c}.individuals()<#sep>,</#sep>
+    </#list>
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+}
+<#list lookupShards as shard>
+
+/**
+ * Part ${(shard?index + 1)?c} of ${lookupShards?size?c} of the reverse lookup of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Lookup${shard?index?c} {
+    static String fromLocalName(String localName) {
+        switch (localName) {
+        <#list shard.lookupMap as key, const>
+            case "${key}": return ${nsAlias}.${const.name};
+        </#list>
+            default: return null;
+        }
+    }
+
+    static String fromIri(String iri) {
+        switch (iri) {
+        <#list shard.lookupMap as key, const>
+            case "${nsURL}${key}": return ${nsAlias}.${const.name};
+        </#list>
+            default: return null;
+        }
+    }
+}
+</#list>
+</#if>
+</#if>
+<#macro constant const type init>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
+    /** <code>${const.label}</code> **/
+    </#if>
+    <#if const.deprecated>
+    @Deprecated
+    </#if>
+    public static final ${type} ${const.name} = ${init};
+</#macro>
@@ -3,6 +3,17 @@ ${copyright}
 </#if>
 package ${package};
 
+<#if lookup??>
+<#if shards??>
+import java.util.Arrays;
+</#if>
+import java.util.Set;
+<#if shards??>
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+</#if>
+
+</#if>
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.ValueFactory;
@@ -17,7 +28,7 @@ import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
  * <#if author??>
  *	@author ${author} </#if>
  */
-public class ${nsAlias} {
+public class ${nsAlias}<#if shards??> implements <#list shards as shard>${nsAlias}_Shard${shard?index?c}<#sep>, </#sep></#list><#if lookup??>, ${nsAlias}_Sets</#if></#if> {
 	/**
 	 * The ${nsAlias} namespace: ${nsURL}
 	 */
@@ -33,12 +44,19 @@ public class ${nsAlias} {
 	 */
 	public static final Namespace NS = new SimpleNamespace(PREFIX, NAMESPACE);
 
+<#if !shards??>
 	// Classes
 	<#list classMap as class, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
     /** <code>${const.label}</code> **/
     </#if>
-	<#if depr?seq_contains(class)>
+	<#if const.deprecated>
 	@Deprecated
 	</#if>
 	public static final IRI ${const.name} = create("${class}");
@@ -47,10 +65,16 @@ public class ${nsAlias} {
 
 	// Properties
 	<#list propMap as prop, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
     /** <code>${const.label}</code> **/
     </#if>
-	<#if depr?seq_contains(prop)>
+	<#if const.deprecated>
 	@Deprecated
 	</#if>
 	public static final IRI ${const.name} = create("${prop}");
@@ -59,18 +83,282 @@ public class ${nsAlias} {
 
 	// Individuals
 	<#list indivMap as indiv, const>
-    <#if const.label??>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
     /** <code>${const.label}</code> **/
     </#if>
-	<#if depr?seq_contains(indiv)>
+	<#if const.deprecated>
 	@Deprecated
 	</#if>
 	public static final IRI ${const.name} = create("${indiv}");
 
 	</#list>
 
-	private static IRI create(String localName) {
+<#if lookup??>
+	// Lookup
+	/**
+	 * Immutable set of all classes
+	 */
+	public static final Set<IRI> CLASSES = Set.of(
+	<#list classMap as key, const>
+		${const.name}<#sep>,</#sep>
+	</#list>
+	);
+
+	/**
+	 * Immutable set of all properties
+	 */
+	public static final Set<IRI> PROPERTIES = Set.of(
+	<#list propMap as key, const>
+		${const.name}<#sep>,</#sep>
+	</#list>
+	);
+
+	/**
+	 * Immutable set of all individuals
+	 */
+	public static final Set<IRI> INDIVIDUALS = Set.of(
+	<#list indivMap as key, const>
+		${const.name}<#sep>,</#sep>
+	</#list>
+	);
+
+	/**
+	 * Get the constant for a local name, without reflection or allocation
+	 *
+	 * @param localName local name
+	 * @return constant or null when not part of this vocabulary
+	 */
+	public static IRI fromLocalName(String localName) {
+		if (localName == null) {
+			return null;
+		}
+		switch (localName) {
+		<#list lookupMap as key, const>
+			case "${key}": return ${const.name};
+		</#list>
+			default: return null;
+		}
+	}
+
+	/**
+	 * Get the constant for an IRI, without reflection or allocation
+	 *
+	 * @param iri IRI
+	 * @return constant or null when not part of this vocabulary
+	 */
+	public static IRI fromIri(IRI iri) {
+		if (iri == null) {
+			return null;
+		}
+		switch (iri.stringValue()) {
+		<#list lookupMap as key, const>
+			case "${nsURL}${key}": return ${const.name};
+		</#list>
+			default: return null;
+		}
+	}
+
+</#if>
+<#elseif lookup??>
+	// Lookup
+	private static final String[] LOOKUP_NAMES = {
+	<#list lookupShards as shard>
+		"${shard.first}"<#sep>,</#sep>
+	</#list>
+	};
+
+	private static final String[] LOOKUP_IRIS = {
+	<#list lookupShards as shard>
+		"${nsURL}${shard.first}"<#sep>,</#sep>
+	</#list>
+	};
+
+	/**
+	 * Get the constant for a local name, without reflection or allocation
+	 *
+	 * @param localName local name
+	 * @return constant or null when not part of this vocabulary
+	 */
+	public static IRI fromLocalName(String localName) {
+		if (localName == null) {
+			return null;
+		}
+		switch (lookupShard(LOOKUP_NAMES, localName)) {
+		<#list lookupShards as shard>
+			case ${shard?index?c}: return ${nsAlias}_Lookup${shard?index?c}.fromLocalName(localName);
+		</#list>
+			default: return null;
+		}
+	}
+
+	/**
+	 * Get the constant for an IRI, without reflection or allocation
+	 *
+	 * @param iri IRI
+	 * @return constant or null when not part of this vocabulary
+	 */
+	public static IRI fromIri(IRI iri) {
+		if (iri == null) {
+			return null;
+		}
+		String str = iri.stringValue();
+		switch (lookupShard(LOOKUP_IRIS, str)) {
+		<#list lookupShards as shard>
+			case ${shard?index?c}: return ${nsAlias}_Lookup${shard?index?c}.fromIri(str);
+		</#list>
+			default: return null;
+		}
+	}
+
+	/**
+	 * Get the lookup shard that may contain a key, using the first key of each shard
+	 *
+	 * @param first sorted first keys
+	 * @param key key
+	 * @return index of the shard or -1
+	 */
+	private static int lookupShard(String[] first, String key) {
+		int i = Arrays.binarySearch(first, key);
+		return (i >= 0) ? i : -i - 2;
+	}
+
+</#if>
+	<#if shards??>static<#else>private static</#if> IRI create(String localName) {
 		return SimpleValueFactory.getInstance().createIRI(${nsAlias}.NAMESPACE, localName);
 	}
 }
 
+<#if shards??>
+<#list shards as shard>
+/**
+ * Part ${(shard?index + 1)?c} of ${shards?size?c} of the constants of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Shard${shard?index?c} {
+<#if shard.classMap?has_content>
+	// Classes
+	<#list shard.classMap as class, const>
+	<@constant const "IRI" "${nsAlias}.create(\"${class}\")"/>
+	</#list>
+</#if>
+<#if shard.propMap?has_content>
+	// Properties
+	<#list shard.propMap as prop, const>
+	<@constant const "IRI" "${nsAlias}.create(\"${prop}\")"/>
+	</#list>
+</#if>
+<#if shard.indivMap?has_content>
+	// Individuals
+	<#list shard.indivMap as indiv, const>
+	<@constant const "IRI" "${nsAlias}.create(\"${indiv}\")"/>
+	</#list>
+</#if>
+<#if lookup??>
+	static Stream<IRI> classes() {
+		return Stream.of(
+		<#list shard.classMap as key, const>
+			${const.name}<#sep>,</#sep>
+		</#list>
+		);
+	}
+
+	static Stream<IRI> properties() {
+		return Stream.of(
+		<#list shard.propMap as key, const>
+			${const.name}<#sep>,</#sep>
+		</#list>
+		);
+	}
+
+	static Stream<IRI> individuals() {
+		return Stream.of(
+		<#list shard.indivMap as key, const>
+			${const.name}<#sep>,</#sep>
+		</#list>
+		);
+	}
+</#if>
+}
+
+</#list>
+<#if lookup??>
+/**
+ * Immutable sets of all terms of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Sets {
+	/**
+	 * Immutable set of all classes
+	 */
+	public static final Set<IRI> CLASSES = Stream.of(
+	<#list shards as shard>
+		${nsAlias}_Shard${shard?index?c}.classes()<#sep>,</#sep>
+	</#list>
+	).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+
+	/**
+	 * Immutable set of all properties
+	 */
+	public static final Set<IRI> PROPERTIES = Stream.of(
+	<#list shards as shard>
+		${nsAlias}_Shard${shard?index?c}.properties()<#sep>,</#sep>
+	</#list>
+	).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+
+	/**
+	 * Immutable set of all individuals
+	 */
+	public static final Set<IRI> INDIVIDUALS = Stream.of(
+	<#list shards as shard>
+		${nsAlias}_Shard${shard?index?c}.individuals()<#sep>,</#sep>
+	</#list>
+	).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+}
+
+<#list lookupShards as shard>
+/**
+ * Part ${(shard?index + 1)?c} of ${lookupShards?size?c} of the reverse lookup of {@link ${nsAlias}}
+ */
+interface ${nsAlias}_Lookup${shard?index?c} {
+	static IRI fromLocalName(String localName) {
+		switch (localName) {
+		<#list shard.lookupMap as key, const>
+			case "${key}": return ${nsAlias}.${const.name};
+		</#list>
+			default: return null;
+		}
+	}
+
+	static IRI fromIri(String iri) {
+		switch (iri) {
+		<#list shard.lookupMap as key, const>
+			case "${nsURL}${key}": return ${nsAlias}.${const.name};
+		</#list>
+			default: return null;
+		}
+	}
+}
+
+</#list>
+</#if>
+</#if>
+<#macro constant const type init>
+    <#if const.replacedBy??>
+    /**
+     * <code>${const.label}</code>
+     *
+     * @deprecated replaced by <code>${const.replacedBy}</code>
+     */
+    <#elseif const.label??>
+    /** <code>${const.label}</code> **/
+    </#if>
+	<#if const.deprecated>
+	@Deprecated
+	</#if>
+	public static final ${type} ${const.name} = ${init};
+
+</#macro>
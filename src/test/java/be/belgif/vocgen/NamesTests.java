@@ -0,0 +1,56 @@
+package be.belgif.vocgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NamesTests {
+    @Test
+    public void testSnakeCase() {
+        assertEquals("HAS_VALUE", Names.snakeCase("hasValue"));
+        assertEquals("HAS_VALUE", Names.snakeCase("_hasValue"));
+        assertEquals("PLAIN_LITERAL", Names.snakeCase("PlainLiteral"));
+        assertEquals("XMLLITERAL", Names.snakeCase("XMLLiteral"));
+        assertEquals("LANG_STRING", Names.snakeCase("langString"));
+        assertEquals("SOME_THING_ELSE", Names.snakeCase("some-thingElse"));
+        assertEquals("NAMESPACE_PROP", Names.snakeCase("namespace"));
+        assertEquals("PREFIX_PROP", Names.snakeCase("prefix"));
+        assertEquals("STRASSE", Names.snakeCase("straße"));
+    }
+
+    @Test
+    public void testSnakeCaseInvalidCharacters() {
+        assertEquals("VERSION1_0", Names.snakeCase("version1.0"));
+        assertEquals("_1ST_PLACE", Names.snakeCase("1stPlace"));
+        assertEquals("A_B_C", Names.snakeCase("a/b(c"));
+    }
+
+    @Test
+    public void testSnakeCaseUnderscores() {
+        // a single underscore is a keyword since java 9
+        assertEquals("__", Names.snakeCase("_"));
+        assertEquals("__", Names.snakeCase("__"));
+        assertEquals("__", Names.snakeCase(""));
+        assertEquals("__", Names.toSafeJavaName("_"));
+        assertEquals("__", Names.toSafeJavaName("__"));
+    }
+
+    @Test
+    public void testSafeJavaName() {
+        assertEquals("langString", Names.toSafeJavaName("langString"));
+        assertEquals("value", Names.toSafeJavaName("_value"));
+        assertEquals("a_b_c_d_e_f_g_h_i_", Names.toSafeJavaName("a+b-c~d*e#f&g%h§i!"));
+        assertEquals("class_", Names.toSafeJavaName("class"));
+        assertEquals("null_", Names.toSafeJavaName("null"));
+        assertEquals("class_", Names.toSafeJavaName("_class"));
+    }
+
+    @Test
+    public void testSafeJavaNameInvalidCharacters() {
+        assertEquals("version1_0", Names.toSafeJavaName("version1.0"));
+        assertEquals("_1stPlace", Names.toSafeJavaName("1stPlace"));
+        assertEquals("a_b_", Names.toSafeJavaName("a(b)"));
+        assertEquals("__", Names.toSafeJavaName("_"));
+        assertEquals("café", Names.toSafeJavaName("café"));
+    }
+}
@@ -4,13 +4,44 @@ import com.google.common.base.Charsets;
 import freemarker.template.TemplateException;
 import org.apache.commons.cli.MissingOptionException;
 import org.apache.commons.cli.ParseException;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.rio.RDFFormat;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import javax.tools.ToolProvider;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class VocGenTests {
     Main main = new Main();
@@ -169,10 +200,1129 @@ public class VocGenTests {
         assertFileEqualsExpected(testName, "RDF.java");
     }
 
+    @Test
+    public void testBasic_Streaming() throws TemplateException, ParseException, IOException {
+        String testName = "testBasic_Streaming";
+        main.generateVocabulary(new String[] {
+                        "--streaming",
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "rdf4j",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--author", "The Author",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "RDF.java");
+    }
+
+    @Test
+    public void testRegexNamespace() throws TemplateException, ParseException, IOException {
+        String testName = "testRegexNamespace";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/regex-ns.ttl",
+                        "--template", "plain",
+                        "--long", "Vocabulary with regular expression characters in the namespace",
+                        "--short", "REGEX",
+                        "--ns", "http://example.org/vocab.v1?(draft)+*#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/vocab",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "REGEX.java");
+    }
+
+    @Test
+    public void testDeprecated() throws TemplateException, ParseException, IOException {
+        String testName = "testDeprecated";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/deprecated.ttl",
+                        "--template", "rdf4j",
+                        "--long", "Legacy vocabulary",
+                        "--short", "LEGACY",
+                        "--ns", "http://example.org/legacy#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/legacy",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "LEGACY.java");
+    }
+
+    @Test
+    public void testCollisions() throws TemplateException, ParseException, IOException {
+        String testName = "testCollisions";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/collisions.ttl",
+                        "--template", "plain",
+                        "--long", "Clashing vocabulary",
+                        "--short", "CLASH",
+                        "--ns", "http://example.org/clash#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/clash",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "CLASH.java");
+    }
+
+    @Test
+    public void testCollisions_SnakeCase() throws TemplateException, ParseException, IOException {
+        String testName = "testCollisions_SnakeCase";
+        main.generateVocabulary(new String[] {
+                        "--snake-case",
+                        "--file", "src/test/resources/collisions.ttl",
+                        "--template", "rdf4j",
+                        "--long", "Clashing vocabulary",
+                        "--short", "CLASH",
+                        "--ns", "http://example.org/clash#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/clash",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "CLASH.java");
+    }
+
+    @Test
+    public void testLabels() throws TemplateException, ParseException, IOException {
+        String testName = "testLabels";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/labels.ttl",
+                        "--template", "plain",
+                        "--long", "Multilingual vocabulary",
+                        "--short", "MULTI",
+                        "--ns", "http://example.org/multi#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/multi",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "MULTI.java");
+    }
+
+    @Test
+    public void testLabels_Lang() throws TemplateException, ParseException, IOException {
+        String testName = "testLabels_Lang";
+        main.generateVocabulary(new String[] {
+                        "--lang", "nl,fr",
+                        "--file", "src/test/resources/labels.ttl",
+                        "--template", "plain",
+                        "--long", "Multilingual vocabulary",
+                        "--short", "MULTI",
+                        "--ns", "http://example.org/multi#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/multi",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "MULTI.java");
+    }
+
+    @Test
+    public void testLabels_Javadoc() throws TemplateException, ParseException, IOException {
+        String testName = "testLabels_Javadoc";
+        main.generateVocabulary(new String[] {
+                        "--lang", "de",
+                        "--javadoc", "comment,prefLabel,label",
+                        "--file", "src/test/resources/labels.ttl",
+                        "--template", "plain",
+                        "--long", "Multilingual vocabulary",
+                        "--short", "MULTI",
+                        "--ns", "http://example.org/multi#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/multi",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "MULTI.java");
+    }
+
+    @Test
+    public void testHierarchy() throws TemplateException, ParseException, IOException {
+        String testName = "testHierarchy";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/hierarchy.ttl",
+                        "--template", "plain",
+                        "--long", "Tree vocabulary",
+                        "--short", "TREE",
+                        "--ns", "http://example.org/tree#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/tree",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "TREE.java");
+    }
+
+    @Test
+    public void testHierarchy_Streaming() throws TemplateException, ParseException, IOException {
+        String testName = "testHierarchy_Streaming";
+        main.generateVocabulary(new String[] {
+                        "--streaming",
+                        "--file", "src/test/resources/hierarchy.ttl",
+                        "--template", "plain",
+                        "--long", "Tree vocabulary",
+                        "--short", "TREE",
+                        "--ns", "http://example.org/tree#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/tree",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "TREE.java");
+    }
+
+    @Test
+    public void testHierarchy_StreamingImported() throws TemplateException, ParseException, IOException {
+        // chains through two imported terms give the same result with and without streaming
+        String testName = "testHierarchy_StreamingImported";
+        deleteOutputDir(testName);
+        for (String mode: new String[] { "default", "streaming" }) {
+            List<String> args = new ArrayList<>(List.of(
+                        "--file", "src/test/resources/hierarchy-imported.ttl",
+                        "--template", "plain",
+                        "--long", "Tree vocabulary",
+                        "--short", "TREE",
+                        "--ns", "http://example.org/tree#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/tree",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName) + "/" + mode));
+            if (mode.equals("streaming")) {
+                args.add("--streaming");
+            }
+            main.generateVocabulary(args.toArray(new String[0]));
+        }
+        String expected = Files.readString(getOutputFilePath(testName, "default/TREE.java"));
+        for (String term: new String[] { "Replicant", "pairsWith", "cites", "rachael" }) {
+            assertTrue(expected.contains(" " + term + " = "), term);
+        }
+        assertEquals(expected, Files.readString(getOutputFilePath(testName, "streaming/TREE.java")));
+    }
+
+    @Test
+    public void testHierarchy_StreamingKept() {
+        ValueFactory vf = SimpleValueFactory.getInstance();
+        IRI robot = vf.createIRI("http://example.org/other#Robot");
+        IRI android = vf.createIRI("http://example.org/other#Android");
+        TermHandler handler = new TermHandler("http://example.org/tree#");
+        handler.handleStatement(vf.createStatement(android, RDFS.SUBCLASSOF, robot));
+        handler.handleStatement(vf.createStatement(android, RDFS.LABEL, vf.createLiteral("Android")));
+        assertTrue(handler.getModel().contains(android, RDFS.SUBCLASSOF, robot));
+        assertFalse(handler.getModel().contains(android, RDFS.LABEL, null));
+    }
+
+    @Test
+    public void testIncremental() throws TemplateException, ParseException, IOException {
+        String testName = "testIncremental";
+        deleteOutputDir(testName);
+        String[] args = new String[] {
+                        "--incremental",
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "plain",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", testOutputDir(testName),
+        };
+        main.generateVocabulary(args);
+        assertFileEqualsExpected(testName, "RDF.java");
+
+        // unchanged input: output is not rendered again
+        Path outputFilePath = getOutputFilePath(testName, "RDF.java");
+        Files.writeString(outputFilePath, "not rendered again");
+        main.generateVocabulary(args);
+        assertEquals("not rendered again", Files.readString(outputFilePath));
+
+        // changed options: rendered again
+        args[args.length - 3] = "org.w3.vocab.other";
+        main.generateVocabulary(args);
+        assertNotEquals("not rendered again", Files.readString(outputFilePath));
+    }
+
+    @Test
+    public void testIncremental_Dictionary() throws TemplateException, ParseException, IOException {
+        String testName = "testIncremental_Dictionary";
+        deleteOutputDir(testName);
+        String[] args = new String[] {
+                        "--incremental",
+                        "--file", "src/test/resources/deprecated.ttl",
+                        "--template", "dictionary",
+                        "--long", "Legacy vocabulary",
+                        "--short", "LEGACY",
+                        "--ns", "http://example.org/legacy#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/legacy",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        };
+        main.generateVocabulary(args);
+        Path dict = getOutputFilePath(testName, "LEGACY.dict");
+        Files.delete(dict);
+
+        // missing dictionary: rendered again
+        main.generateVocabulary(args);
+        assertTrue(Files.exists(dict));
+    }
+
+    @Test
+    public void testIncremental_Metrics() throws TemplateException, ParseException, IOException {
+        String testName = "testIncremental_Metrics";
+        deleteOutputDir(testName);
+        Path report = getOutputFilePath(testName, "metrics.json");
+        String[] args = new String[] {
+                        "--incremental",
+                        "--metrics", report.toString(),
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "plain",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", testOutputDir(testName),
+        };
+        main.generateVocabulary(args);
+
+        // up to date, also with another report path: report is still written, recording the skip
+        Path other = getOutputFilePath(testName, "other.json");
+        args[2] = other.toString();
+        main.generateVocabulary(args);
+        assertTrue(Files.readString(other).contains("\"upToDate\": 1"));
+    }
+
+    @Test
+    public void testWriteIfChanged_Permissions() throws IOException {
+        Path dir = Path.of(testOutputDir("testWriteIfChanged_Permissions"));
+        deleteOutputDir("testWriteIfChanged_Permissions");
+        Files.createDirectories(dir);
+        assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+        Path reference = Files.createFile(dir.resolve("reference.txt"));
+        Path written = dir.resolve("written.txt");
+        assertTrue(GenerationCache.writeIfChanged(written, "content".getBytes(Charsets.UTF_8)));
+        assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(written));
+    }
+
+    @Test
+    public void testMultiTemplate() throws TemplateException, ParseException, IOException {
+        String testName = "testMultiTemplate";
+        deleteOutputDir(testName);
+        String[] args = new String[] {
+                        "--incremental",
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "all",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--author", "The Author",
+                        "--package", "org.w3.vocab",
+                        "--template-package", "jena=org.w3.vocab.jena",
+                        "--template-output-dir", "plain=" + testOutputDir(testName) + "/java",
+                        "--output-dir", testOutputDir(testName),
+        };
+        main.generateVocabulary(args);
+        assertFileEqualsExpected(testName, "rdf4j/RDF.java");
+        assertFileEqualsExpected(testName, "jena/RDF.java");
+        assertFileEqualsExpected(testName, "java/RDF.java");
+
+        // up to date per template
+        Path rdf4j = getOutputFilePath(testName, "rdf4j/RDF.java");
+        Files.delete(getOutputFilePath(testName, "jena/RDF.java"));
+        Files.writeString(rdf4j, "not rendered again");
+        main.generateVocabulary(args);
+        assertEquals("not rendered again", Files.readString(rdf4j));
+        assertFileEqualsExpected(testName, "jena/RDF.java");
+    }
+
+    @Test
+    public void testMultiTemplate_SameOutputDir() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Main.getTargets("rdf4j,jena", "org.w3.vocab", "out", null, "jena=out/rdf4j"));
+    }
+
+    @Test
+    public void testGenerator_Concurrent() throws Exception {
+        Generator generator = new Generator(Main.getConfig());
+        String[] templates = { "rdf4j", "jena", "plain" };
+        String[] expected = { "testBasic", "testBasic_Jena", "testBasic_Plain" };
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GenerationResult>> results = new ArrayList<>();
+            for (int i = 0; i < 24; i++) {
+                GeneratorOptions opts = GeneratorOptions.builder()
+                        .file("src/test/resources/rdf.ttl")
+                        .templates(templates[i % 3])
+                        .longName("The RDF vocabulary")
+                        .shortName("RDF")
+                        .namespace("http://www.w3.org/1999/02/22-rdf-syntax-ns#")
+                        .prefix("rdf")
+                        .doc("https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/")
+                        .author("The Author")
+                        .javaPackage("org.w3.vocab")
+                        .build();
+                results.add(pool.submit(() -> generator.generate(opts)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                GenerationResult result = results.get(i).get();
+                assertEquals(1, result.getSources().size());
+                assertEquals(templates[i % 3], result.getSources().get(0).getTemplate());
+                String exp = Files.readString(getExpectedFilePath(expected[i % 3], "RDF.java"), Charsets.UTF_8);
+                assertEquals(format(exp), format(result.getSources().get(0).getSource()));
+                assertTrue(result.getTerms().getClasses().stream().anyMatch(c -> c.getName().equals("Property")));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMetrics() throws TemplateException, ParseException, IOException {
+        String testName = "testMetrics";
+        Path report = getOutputFilePath(testName, "metrics.json");
+        Files.deleteIfExists(report);
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "rdf4j",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--package", "org.w3.vocab",
+                        "--metrics", report.toString(),
+                        "--output-dir", testOutputDir(testName),
+        });
+        String json = Files.readString(report);
+        assertTrue(json.startsWith("{\n\t\"vocabulary\": \"RDF\","), json);
+        int load = json.indexOf("\"load\": {");
+        int extract = json.indexOf("\"extract\": {");
+        int names = json.indexOf("\"names\": {");
+        int render = json.indexOf("\"render\": {");
+        int write = json.indexOf("\"write\": {");
+        assertTrue(load > 0 && load < extract && extract < names && names < render && render < write, json);
+        assertTrue(json.contains("\"modelTriples\": 127"), json);
+        assertTrue(json.contains("\"classes\": 7, \"properties\": 9, \"individuals\": 1"), json);
+        assertTrue(json.contains("\"filesWritten\": "), json);
+        assertTrue(json.contains("\"allocatedBytes\": "), json);
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        String testName = "testFlightRecorderEvents";
+        Path jfr = getOutputFilePath(testName, "events.jfr");
+        Files.createDirectories(jfr.getParent());
+        try (Recording recording = new Recording()) {
+            for (String event: new String[] { "OntologyLoad", "TermExtraction", "NameNormalization", "TemplateRender" }) {
+                recording.enable("be.belgif.vocgen." + event).withoutThreshold();
+            }
+            recording.start();
+            main.generateVocabulary(new String[] {
+                            "--file", "src/test/resources/rdf.ttl",
+                            "--template", "rdf4j",
+                            "--long", "The RDF vocabulary",
+                            "--short", "RDF",
+                            "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                            "--prefix", "rdf",
+                            "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                            "--package", "org.w3.vocab",
+                            "--output-dir", testOutputDir(testName),
+            });
+            recording.stop();
+            recording.dump(jfr);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+
+        RecordedEvent load = events.stream()
+                .filter(e -> e.getEventType().getName().equals("be.belgif.vocgen.OntologyLoad")).findFirst().get();
+        assertEquals("src/test/resources/rdf.ttl", load.getString("file"));
+        assertEquals(127, load.getLong("triples"));
+
+        List<String> kinds = new ArrayList<>();
+        events.stream().filter(e -> e.getEventType().getName().equals("be.belgif.vocgen.TermExtraction"))
+                .forEach(e -> kinds.add(e.getString("kind") + "=" + e.getInt("terms")));
+        assertEquals(List.of("class=7", "property=9", "individual=1", "deprecated=0"), kinds);
+
+        RecordedEvent render = events.stream()
+                .filter(e -> e.getEventType().getName().equals("be.belgif.vocgen.TemplateRender")).findFirst().get();
+        assertEquals("rdf4j", render.getString("template"));
+        assertEquals(17, render.getInt("constants"));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("be.belgif.vocgen.NameNormalization")));
+    }
+
+    @Test
+    public void testUnchangedOutputNotWritten() throws TemplateException, ParseException, IOException {
+        String testName = "testBasic_Plain";
+        String[] args = new String[] {
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "plain",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--author", "The Author",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", testOutputDir(testName + "_Unchanged"),
+        };
+        main.generateVocabulary(args);
+        File outputFile = getOutputFilePath(testName + "_Unchanged", "RDF.java").toFile();
+        assertTrue(outputFile.setLastModified(1_000_000L));
+        main.generateVocabulary(args);
+        assertEquals(1_000_000L, outputFile.lastModified());
+    }
+
+    @Test
+    public void testBatch() throws ParseException, IOException {
+        String testName = "testBatch";
+        int failed = Batch.run(new String[] {
+                        "--batch", "src/test/resources/batch.properties",
+                        "--threads", "2"
+        });
+        assertEquals(0, failed);
+        assertFileEqualsExpected(testName + "/rdf4j", "RDF.java");
+        assertFileEqualsExpected(testName + "/jena", "RDF.java");
+    }
+
+    @Test
+    public void testBatch_Metrics() throws ParseException, IOException {
+        Path report = getOutputFilePath("testBatch_Metrics", "metrics.json");
+        Files.deleteIfExists(report);
+        int failed = Batch.run(new String[] {
+                        "--batch", "src/test/resources/batch.properties",
+                        "--metrics", report.toString()
+        });
+        assertEquals(0, failed);
+        String json = Files.readString(report);
+        assertTrue(json.contains("\"jena\": {"));
+        assertTrue(json.contains("\"rdf4j\": {"));
+        assertTrue(json.contains("\"total\": {"));
+        // both vocabularies are rendered, adding up to two calls in total
+        assertTrue(json.contains("\"render\": {\"calls\": 2,"), json);
+    }
+
+    @Test
+    public void testBatch_Failing() throws ParseException, IOException {
+        int failed = Batch.run(new String[] {
+                        "--batch", "src/test/resources/batch-failing.properties"
+        });
+        assertEquals(1, failed);
+        assertTrue(getOutputFilePath("testBatch_Failing/ok", "RDF.java").toFile().exists());
+    }
+
+    @Test
+    public void testCompile() throws Exception {
+        String testName = "testCompile";
+        deleteOutputDir(testName);
+        Path jar = getOutputFilePath(testName, "rdf.jar");
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "rdf4j",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--author", "The Author",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", testOutputDir(testName),
+                        "--compile", jar.toString()
+        });
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { jar.toUri().toURL() }, getClass().getClassLoader())) {
+            Class<?> rdf = loader.loadClass("org.w3.vocab.RDF");
+            assertEquals("rdf", rdf.getField("PREFIX").get(null));
+            assertEquals("http://www.w3.org/1999/02/22-rdf-syntax-ns#type", rdf.getField("type").get(null).toString());
+        }
+    }
+
+    @Test
+    public void testBatch_Compile() throws Exception {
+        deleteOutputDir("testBatch_Compile");
+        Path classes = getOutputFilePath("testBatch_Compile", "classes");
+        int failed = Batch.run(new String[] {
+                        "--batch", "src/test/resources/batch-compile.properties",
+                        "--compile", classes.toString()
+        });
+        assertEquals(0, failed);
+        assertTrue(Files.exists(classes.resolve("org/w3/vocab/RDF.class")));
+        assertTrue(Files.exists(classes.resolve("org/example/vocab/LOOKUP.class")));
+    }
+
+    @Test
+    public void testArchive() throws Exception {
+        String testName = "testArchive";
+        deleteOutputDir(testName);
+        Path zip = getOutputFilePath(testName, "rdf.zip");
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "rdf4j",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--author", "The Author",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", testOutputDir(testName),
+                        "--archive", zip.toString()
+        });
+        assertFalse(getOutputFilePath(testName, "RDF.java").toFile().exists());
+
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            for (ZipEntry e = in.getNextEntry(); e != null; e = in.getNextEntry()) {
+                entries.add(e.getName());
+                assertEquals(ZipSink.DEFAULT_TIMESTAMP, e.getTimeLocal());
+                if (!e.isDirectory()) {
+                    String exp = Files.readString(getExpectedFilePath("testBasic", "RDF.java"), Charsets.UTF_8);
+                    assertEquals(format(exp), format(new String(in.readAllBytes(), Charsets.UTF_8)));
+                }
+            }
+        }
+        assertEquals(List.of("org/", "org/w3/", "org/w3/vocab/", "org/w3/vocab/RDF.java"), entries);
+    }
+
+    @Test
+    public void testArchive_Templates() throws Exception {
+        String testName = "testArchive_Templates";
+        deleteOutputDir(testName);
+        Path zip = getOutputFilePath(testName, "rdf.zip");
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/rdf.ttl",
+                        "--template", "rdf4j,plain",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", testOutputDir(testName),
+                        "--archive", zip.toString()
+        });
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            for (ZipEntry e = in.getNextEntry(); e != null; e = in.getNextEntry()) {
+                if (!e.isDirectory()) {
+                    entries.add(e.getName());
+                }
+            }
+        }
+        assertEquals(List.of("rdf4j/org/w3/vocab/RDF.java", "plain/org/w3/vocab/RDF.java"), entries);
+    }
+
+    @Test
+    public void testArchive_InvalidEpoch() {
+        assertEquals(ZipSink.DEFAULT_TIMESTAMP, assertDoesNotThrow(() -> ZipSink.getTimestamp(" ")));
+        assertThrows(IOException.class, () -> ZipSink.getTimestamp("yesterday"));
+    }
+
+    @Test
+    public void testCompile_FailedKeepsJar() throws Exception {
+        String testName = "testCompile_FailedKeepsJar";
+        deleteOutputDir(testName);
+        Path jar = getOutputFilePath(testName, "broken.jar");
+        Files.createDirectories(jar.getParent());
+        Files.write(jar, new byte[] { 1, 2, 3 });
+        GenerationResult.Source broken = new GenerationResult.Source("plain", "org.example",
+                        new File(testOutputDir(testName)), "Broken", "package org.example; class Broken {", null);
+        assertThrows(IOException.class, () -> Main.compile(List.of(broken), null, jar.toString()));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(jar));
+    }
+
+    @Test
+    public void testBatch_ArchiveEntryOptions() throws Exception {
+        deleteOutputDir("testBatch_ArchiveEntryOptions");
+        Path manifest = getOutputFilePath("testBatch_ArchiveEntryOptions", "batch.properties");
+        Path jar = getOutputFilePath("testBatch_ArchiveEntryOptions", "vocab.jar");
+        Files.createDirectories(manifest.getParent());
+        Files.writeString(manifest, Files.readString(Path.of("src/test/resources/batch-compile.properties"))
+                        + "\nrdf.incremental=true\n");
+        // applied without an archive, so not silently ignored with one
+        IOException ex = assertThrows(IOException.class, () -> Batch.run(new String[] {
+                        "--batch", manifest.toString(),
+                        "--archive", jar.toString()
+        }));
+        assertEquals("Invalid manifest key rdf.incremental, not supported with --archive", ex.getMessage());
+        assertFalse(Files.exists(jar));
+    }
+
+    @Test
+    public void testBatch_ArchiveDuplicate() throws Exception {
+        deleteOutputDir("testBatch_ArchiveDuplicate");
+        Path jar = getOutputFilePath("testBatch_ArchiveDuplicate", "vocab.jar");
+        int failed = Batch.run(new String[] {
+                        "--batch", "src/test/resources/batch-duplicate.properties",
+                        "--archive", jar.toString()
+        });
+        // second entry fails, the first one is still in a complete archive
+        assertEquals(1, failed);
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(jar))) {
+            for (ZipEntry e = in.getNextEntry(); e != null; e = in.getNextEntry()) {
+                if (!e.isDirectory()) {
+                    entries.add(e.getName());
+                }
+            }
+        }
+        assertEquals(List.of("META-INF/MANIFEST.MF", "org/w3/vocab/RDF.java"), entries);
+    }
+
+    @Test
+    public void testBatch_Archive() throws Exception {
+        deleteOutputDir("testBatch_Archive");
+        Path jar1 = getOutputFilePath("testBatch_Archive", "vocab1.jar");
+        Path jar2 = getOutputFilePath("testBatch_Archive", "vocab2.jar");
+        for (Path jar: List.of(jar1, jar2)) {
+            int failed = Batch.run(new String[] {
+                        "--batch", "src/test/resources/batch-compile.properties",
+                        "--threads", "2",
+                        "--archive", jar.toString()
+            });
+            assertEquals(0, failed);
+        }
+        // reproducible, entries in the order of the manifest
+        assertArrayEquals(Files.readAllBytes(jar1), Files.readAllBytes(jar2));
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(jar1))) {
+            for (ZipEntry e = in.getNextEntry(); e != null; e = in.getNextEntry()) {
+                if (!e.isDirectory()) {
+                    entries.add(e.getName());
+                }
+            }
+        }
+        assertEquals(List.of("META-INF/MANIFEST.MF", "org/example/vocab/LOOKUP.java", "org/w3/vocab/RDF.java"), entries);
+    }
+
+    @Test
+    public void testServer_Unsupported() {
+        for (String opt: List.of("archive", "compile", "output-dir", "metrics")) {
+            assertThrows(IllegalArgumentException.class, () -> Server.toArgs(Map.of(opt, "out.jar")));
+        }
+        assertArrayEquals(new String[] { "--short", "RDF" }, Server.toArgs(Map.of("short", "RDF")));
+    }
+
+    @Test
+    public void testServer() throws Exception {
+        String query = "template=rdf4j&long=The+RDF+vocabulary&short=RDF"
+                        + "&ns=" + URLEncoder.encode("http://www.w3.org/1999/02/22-rdf-syntax-ns#", Charsets.UTF_8)
+                        + "&prefix=rdf&doc=https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/"
+                        + "&author=The+Author&package=org.w3.vocab";
+        try (Server server = new Server(0, 2)) {
+            server.start();
+            String url = "http://127.0.0.1:" + server.getPort();
+            HttpClient client = HttpClient.newHttpClient();
+
+            // uploaded ontology
+            HttpResponse<String> source = client.send(HttpRequest.newBuilder(URI.create(url + "/generate?" + query))
+                            .POST(HttpRequest.BodyPublishers.ofFile(Path.of("src/test/resources/rdf.ttl"))).build(),
+                            HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, source.statusCode(), source.body());
+            String exp = Files.readString(getExpectedFilePath("testBasic", "RDF.java"), Charsets.UTF_8);
+            assertEquals(format(exp), format(source.body()));
+
+            // file on the server, several templates
+            HttpResponse<byte[]> zip = client.send(HttpRequest.newBuilder(URI.create(url + "/generate?"
+                                    + query.replace("template=rdf4j", "template=rdf4j,jena")
+                                    + "&file=src/test/resources/rdf.ttl"))
+                            .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                            HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(200, zip.statusCode());
+            List<String> entries = new ArrayList<>();
+            try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip.body()))) {
+                for (ZipEntry e = in.getNextEntry(); e != null; e = in.getNextEntry()) {
+                    if (!e.isDirectory()) {
+                        entries.add(e.getName());
+                    }
+                }
+            }
+            assertEquals(List.of("rdf4j/org/w3/vocab/RDF.java", "jena/org/w3/vocab/RDF.java"), entries);
+
+            HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(url + "/generate?"
+                                    + query.replace("short=RDF&", "")))
+                            .POST(HttpRequest.BodyPublishers.ofFile(Path.of("src/test/resources/rdf.ttl"))).build(),
+                            HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, missing.statusCode());
+
+            String metrics = client.send(HttpRequest.newBuilder(URI.create(url + "/metrics")).build(),
+                            HttpResponse.BodyHandlers.ofString()).body();
+            assertTrue(metrics.contains("\"count\": 3, \"failed\": 1"), metrics);
+            assertTrue(metrics.contains("\"render\": {\"calls\": 3,"), metrics);
+        }
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        String testName = "testWatch";
+        deleteOutputDir(testName);
+        Path ttl = getOutputFilePath(testName, "rdf.ttl");
+        Files.createDirectories(ttl.getParent());
+        Files.copy(Path.of("src/test/resources/rdf.ttl"), ttl);
+        String[] args = {
+                        "--file", ttl.toString(),
+                        "--template", "rdf4j",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", testOutputDir(testName),
+                        "--watch"
+        };
+        main.generateVocabulary(args);
+        Path java = getOutputFilePath(testName, "RDF.java");
+        assertFalse(Files.readString(java).contains("Watched"));
+
+        try (Watcher watcher = new Watcher(Map.of("RDF", args), Main.getConfig())) {
+            Thread t = new Thread(() -> {
+                try {
+                    watcher.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            t.start();
+            Files.writeString(ttl, "\nrdf:Watched a rdfs:Class .\n", StandardOpenOption.APPEND);
+
+            long end = System.currentTimeMillis() + 20_000;
+            while (!Files.readString(java).contains("Watched") && System.currentTimeMillis() < end) {
+                Thread.sleep(50);
+            }
+            watcher.close();
+            t.join(5_000);
+            assertFalse(t.isAlive());
+        }
+        assertTrue(Files.readString(java).contains("Watched"));
+    }
+
+    @Test
+    public void testBatch_WatchArchive() throws Exception {
+        String testName = "testBatch_WatchArchive";
+        deleteOutputDir(testName);
+        Path ttl = getOutputFilePath(testName, "rdf.ttl");
+        Files.createDirectories(ttl.getParent());
+        Files.copy(Path.of("src/test/resources/rdf.ttl"), ttl);
+        Path manifest = getOutputFilePath(testName, "batch.properties");
+        Files.writeString(manifest, String.join("\n",
+                        "rdf.file=" + ttl.toString().replace('\\', '/'),
+                        "rdf.template=rdf4j",
+                        "rdf.long=The RDF vocabulary",
+                        "rdf.short=RDF",
+                        "rdf.ns=http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "rdf.prefix=rdf",
+                        "rdf.doc=https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "rdf.package=org.w3.vocab",
+                        "rdf.output-dir=" + testOutputDir(testName).replace('\\', '/')));
+        Path zip = getOutputFilePath(testName, "rdf.zip");
+
+        Thread t = new Thread(() -> {
+            try {
+                Batch.run(new String[] { "--batch", manifest.toString(), "--archive", zip.toString(), "--watch" });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        t.start();
+        try {
+            // regenerated into the archive, not into the output directory
+            long end = System.currentTimeMillis() + 20_000;
+            while (!readZipEntry(zip, "org/w3/vocab/RDF.java").contains("Watched") && System.currentTimeMillis() < end) {
+                if (readZipEntry(zip, "org/w3/vocab/RDF.java").contains("class RDF")) {
+                    Files.writeString(ttl, "\nrdf:Watched a rdfs:Class .\n", StandardOpenOption.APPEND);
+                }
+                Thread.sleep(200);
+            }
+        } finally {
+            t.interrupt();
+            t.join(5_000);
+        }
+        assertFalse(t.isAlive());
+        assertTrue(readZipEntry(zip, "org/w3/vocab/RDF.java").contains("Watched"));
+        assertFalse(getOutputFilePath(testName, "RDF.java").toFile().exists());
+    }
+
+    @Test
+    public void testLookup() throws TemplateException, ParseException, IOException {
+        String testName = "testLookup";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/lookup.ttl",
+                        "--template", "rdf4j",
+                        "--long", "Lookup vocabulary",
+                        "--short", "LOOKUP",
+                        "--ns", "http://example.org/lookup#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/lookup",
+                        "--package", "org.example.vocab",
+                        "--snake-case",
+                        "--lookup",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "LOOKUP.java");
+    }
+
+    @Test
+    public void testShards() throws TemplateException, ParseException, IOException {
+        String testName = "testShards";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/lookup.ttl",
+                        "--template", "rdf4j",
+                        "--long", "Lookup vocabulary",
+                        "--short", "LOOKUP",
+                        "--ns", "http://example.org/lookup#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/lookup",
+                        "--package", "org.example.vocab",
+                        "--snake-case",
+                        "--shard-size", "3",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "LOOKUP.java");
+    }
+
+    @Test
+    public void testShards_Lookup() throws TemplateException, ParseException, IOException {
+        String testName = "testShards_Lookup";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/lookup.ttl",
+                        "--template", "jena",
+                        "--long", "Lookup vocabulary",
+                        "--short", "LOOKUP",
+                        "--ns", "http://example.org/lookup#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/lookup",
+                        "--package", "org.example.vocab",
+                        "--snake-case",
+                        "--lookup",
+                        "--shard-size", "3",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "LOOKUP.java");
+    }
+
+    @Test
+    public void testParallel() throws TemplateException, ParseException, IOException {
+        String testName = "testParallel";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/rdf.nt",
+                        "--template", "rdf4j",
+                        "--long", "The RDF vocabulary",
+                        "--short", "RDF",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--prefix", "rdf",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--author", "The Author",
+                        "--package", "org.w3.vocab",
+                        "--parallel", "4",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "RDF.java");
+    }
+
+    @Test
+    public void testParallel_Chunks() throws IOException {
+        String ns = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+        Path file = Path.of("src/test/resources/rdf.nt");
+        for (boolean streaming: new boolean[] { false, true }) {
+            Model expected = Main.getModel(file.toString(), ns, false, streaming);
+            Model actual = ParallelLoader.load(file, RDFFormat.NTRIPLES, ns, streaming, 4, 256);
+            assertEquals(expected.size(), actual.size());
+            assertTrue(Models.isomorphic(expected, actual));
+        }
+
+        // blank nodes used in different chunks must remain the same node
+        Path bnodes = getOutputFilePath("testParallel_Chunks", "bnodes.nt");
+        Files.createDirectories(bnodes.getParent());
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append("_:shared <http://example.org/p> \"").append(i).append("\" .\n");
+        }
+        Files.writeString(bnodes, sb.toString());
+        Model m = ParallelLoader.load(bnodes, RDFFormat.NTRIPLES, ns, false, 4, 256);
+        assertEquals(100, m.size());
+        assertEquals(1, m.subjects().size());
+    }
+
+    @Test
+    public void testCompressed() throws IOException {
+        String ns = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+        Path ttl = Path.of("src/test/resources/rdf.ttl");
+        Path nt = Path.of("src/test/resources/rdf.nt");
+        Model expected = Main.getModel(ttl.toString(), ns, false, false);
+
+        Path gz = getOutputFilePath("testCompressed", "rdf.ttl.gz");
+        Files.createDirectories(gz.getParent());
+        try (OutputStream out = new java.util.zip.GZIPOutputStream(Files.newOutputStream(gz))) {
+            Files.copy(ttl, out);
+        }
+        Path zip = getOutputFilePath("testCompressed", "rdf.zip");
+        try (java.util.zip.ZipOutputStream out = new java.util.zip.ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new java.util.zip.ZipEntry("rdf/"));
+            out.putNextEntry(new java.util.zip.ZipEntry("rdf/rdf.nt"));
+            Files.copy(nt, out);
+        }
+        // no extension, format and compression must be sniffed
+        Path sniffed = getOutputFilePath("testCompressed", "rdf-gzip");
+        Files.copy(gz, sniffed, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Path p: new Path[] { gz, zip, sniffed }) {
+            for (boolean streaming: new boolean[] { false, true }) {
+                Model actual = Main.getModel(p.toString(), ns, false, streaming, 4);
+                assertTrue(Models.isomorphic(Main.getModel(ttl.toString(), ns, false, streaming), actual), p.toString());
+            }
+        }
+        assertEquals(expected.size(), Main.getModel(zip.toString(), ns, false, false).size());
+    }
+
+    @Test
+    public void testCompressed_Sniff() {
+        assertEquals(RDFFormat.TURTLE, OntologyInput.sniff("@prefix ex: <http://example.org/> .".getBytes()));
+        assertEquals(RDFFormat.TURTLE, OntologyInput.sniff("<http://ex.org/s> <http://ex.org/p> \"o\" .\n".getBytes()));
+        assertEquals(RDFFormat.NQUADS,
+            OntologyInput.sniff("<http://ex.org/s> <http://ex.org/p> \"o x\"@en <http://ex.org/g> .\n".getBytes()));
+        assertEquals(RDFFormat.RDFXML, OntologyInput.sniff("\uFEFF<?xml version=\"1.0\"?>".getBytes(Charsets.UTF_8)));
+        assertEquals(RDFFormat.JSONLD, OntologyInput.sniff("  {\"@context\": {}}".getBytes()));
+    }
+
+    @Test
+    public void testDictionary() throws Exception {
+        String testName = "testDictionary";
+        main.generateVocabulary(new String[] {
+                        "--file", "src/test/resources/deprecated.ttl",
+                        "--template", "dictionary",
+                        "--long", "Legacy vocabulary",
+                        "--short", "LEGACY",
+                        "--ns", "http://example.org/legacy#",
+                        "--prefix", "ex",
+                        "--doc", "http://example.org/legacy",
+                        "--package", "org.example.vocab",
+                        "--output-dir", testOutputDir(testName),
+        });
+        assertFileEqualsExpected(testName, "LEGACY.java");
+
+        // compile the accessor and read the dictionary
+        Path classes = Path.of(testOutputDir(testName), "classes");
+        Path pkg = classes.resolve("org/example/vocab");
+        Files.createDirectories(pkg);
+        Files.copy(getOutputFilePath(testName, "LEGACY.dict"), pkg.resolve("LEGACY.dict"),
+                        StandardCopyOption.REPLACE_EXISTING);
+        int res = ToolProvider.getSystemJavaCompiler().run(null, null, null, "-d", classes.toString(),
+                        getOutputFilePath(testName, "LEGACY.java").toString());
+        assertEquals(0, res);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() })) {
+            Class<?> dict = loader.loadClass("org.example.vocab.LEGACY");
+            assertEquals(5, dict.getMethod("size").invoke(null));
+
+            int thing = (int) dict.getMethod("indexOf", String.class).invoke(null, "Thing");
+            int old = (int) dict.getMethod("indexOfIri", String.class).invoke(null, "http://example.org/legacy#OldThing");
+            int first = (int) dict.getMethod("indexOf", String.class).invoke(null, "first");
+            assertEquals(-1, dict.getMethod("indexOf", String.class).invoke(null, "missing"));
+            assertEquals(-1, dict.getMethod("indexOfIri", String.class).invoke(null, "http://example.org/other#Thing"));
+
+            assertEquals("Thing", dict.getMethod("localName", int.class).invoke(null, thing));
+            assertEquals("http://example.org/legacy#Thing", dict.getMethod("iri", int.class).invoke(null, thing));
+            assertEquals("Old thing", dict.getMethod("label", int.class).invoke(null, old));
+            assertEquals(1, dict.getMethod("flags", int.class).invoke(null, thing));
+            assertEquals(1 | 8, dict.getMethod("flags", int.class).invoke(null, old));
+            assertEquals(4 | 8, dict.getMethod("flags", int.class).invoke(null, first));
+            assertNull(dict.getMethod("replacedBy", int.class).invoke(null, thing));
+            assertEquals("http://example.org/legacy#Thing", dict.getMethod("replacedBy", int.class).invoke(null, old));
+        }
+    }
+
+    @Test
+    public void testEmitter() throws TemplateException, ParseException, IOException {
+        String[][] vocabs = {
+                { "rdf.ttl", "RDF", "http://www.w3.org/1999/02/22-rdf-syntax-ns#" },
+                { "deprecated.ttl", "LEGACY", "http://example.org/legacy#" },
+                { "collisions.ttl", "CLASH", "http://example.org/clash#" },
+                { "labels.ttl", "LBL", "http://example.org/multi#" },
+                { "hierarchy.ttl", "HIER", "http://example.org/tree#" },
+                { "lookup.ttl", "LOOKUP", "http://example.org/lookup#" },
+        };
+        for (String[] vocab: vocabs) {
+            for (String template: new String[] { "rdf4j", "jena", "plain" }) {
+                for (int extras = 0; extras < 3; extras++) {
+                    String testName = "testEmitter/" + vocab[1] + "_" + template + "_" + extras;
+                    String[] args = new String[] {
+                                    "--file", "src/test/resources/" + vocab[0],
+                                    "--template", template,
+                                    "--long", "Test vocabulary",
+                                    "--short", vocab[1],
+                                    "--ns", vocab[2],
+                                    "--prefix", "ex",
+                                    "--doc", vocab[2],
+                                    "--package", "org.example.vocab",
+                    };
+                    if (extras > 0) {
+                        args = Stream.concat(Stream.of(args), Stream.of(
+                                        "--author", "The Author",
+                                        "--copyright", "src/main/resources/copyright/rdf4j.txt",
+                                        "--snake-case",
+                                        "--lookup")).toArray(String[]::new);
+                    }
+                    if (extras > 1) {
+                        args = Stream.concat(Stream.of(args), Stream.of("--shard-size", "2")).toArray(String[]::new);
+                    }
+                    assertEmitterEqualsFreemarker(testName, args, vocab[1] + ".java");
+                }
+            }
+        }
+    }
+
+    private void assertEmitterEqualsFreemarker(String testName, String[] args, String filename)
+                    throws TemplateException, ParseException, IOException {
+        main.generateVocabulary(Stream.concat(Stream.of(args),
+                        Stream.of("--output-dir", testOutputDir(testName + "/freemarker"))).toArray(String[]::new));
+        main.generateVocabulary(Stream.concat(Stream.of(args),
+                        Stream.of("--output-dir", testOutputDir(testName + "/emitter"), "--emitter")).toArray(String[]::new));
+        String expected = Files.readString(getOutputFilePath(testName + "/freemarker", filename), Charsets.UTF_8);
+        String actual = Files.readString(getOutputFilePath(testName + "/emitter", filename), Charsets.UTF_8);
+        assertEquals(expected, actual, "emitter output differs from freemarker output for " + testName);
+    }
+
+    private void deleteOutputDir(String testName) throws IOException {
+        Path dir = Path.of(testOutputDir(testName));
+        if (Files.exists(dir)) {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
     private String testOutputDir(String testName) {
         return "target/test-output/" + testName;
     }
 
+    /**
+     * Read an entry of a zip file, or an empty string when the file or the entry is not (yet) available
+     */
+    private static String readZipEntry(Path zip, String name) {
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+            for (ZipEntry e = in.getNextEntry(); e != null; e = in.getNextEntry()) {
+                if (e.getName().equals(name)) {
+                    return new String(in.readAllBytes(), Charsets.UTF_8);
+                }
+            }
+        } catch (IOException e) {
+            // being written
+        }
+        return "";
+    }
+
     private void assertFileEqualsExpected(String directory, String filename) throws IOException {
         Path expectedFilePath = getExpectedFilePath(directory, filename);
         File expectedFile = expectedFilePath.toFile();
@@ -0,0 +1,44 @@
+package org.example.vocab;
+
+/**
+ * Constants for the Clashing vocabulary.
+ *
+ * @see <a href="http://example.org/clash">Clashing vocabulary</a>
+ */
+public class CLASH {
+
+    /**
+     * The CLASH namespace: http://example.org/clash#
+     */
+    public static final String NS = "http://example.org/clash#";
+
+    /**
+     * Returns the URI for this schema
+     * @return URI
+     */
+    public static String getURI() {
+        return NS;
+    }
+    
+    // Classes
+    /** <code>NS class</code> **/
+    public static final String NS_2 = NS + "NS";
+    /** <code>Name class</code> **/
+    public static final String Name = NS + "Name";
+    /** <code>a-b class</code> **/
+    public static final String a_b = NS + "a-b";
+    /** <code>a_b class</code> **/
+    public static final String a_b_2 = NS + "a_b";
+
+    // Properties
+    /** <code>a~b property</code> **/
+    public static final String a_b_PROP = NS + "a~b";
+    /** <code>name property</code> **/
+    public static final String name = NS + "name";
+
+    // Individuals
+    /** <code>NAME individual</code> **/
+    public static final String NAME = NS + "NAME";
+    /** <code>nAme individual</code> **/
+    public static final String nAme = NS + "nAme";
+}
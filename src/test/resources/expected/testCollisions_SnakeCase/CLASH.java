@@ -0,0 +1,66 @@
+package org.example.vocab;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Namespace;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleNamespace;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+
+/**
+ * Constants for the Clashing vocabulary.
+ *
+ * @see <a href="http://example.org/clash">Clashing vocabulary</a>
+ * 
+ */
+public class CLASH {
+	/**
+	 * The CLASH namespace: http://example.org/clash#
+	 */
+	public static final String NAMESPACE = "http://example.org/clash#";
+
+	/**
+	 * Recommended prefix for the namespace: "ex"
+	 */
+	public static final String PREFIX = "ex";
+
+	/**
+	 * An immutable {@link Namespace} constant that represents the namespace.
+	 */
+	public static final Namespace NS = new SimpleNamespace(PREFIX, NAMESPACE);
+
+	// Classes
+    /** <code>NS class</code> **/
+	public static final IRI NS_2 = create("NS");
+
+    /** <code>Name class</code> **/
+	public static final IRI NAME = create("Name");
+
+    /** <code>a-b class</code> **/
+	public static final IRI A_B = create("a-b");
+
+    /** <code>a_b class</code> **/
+	public static final IRI A_B_2 = create("a_b");
+
+
+	// Properties
+    /** <code>a~b property</code> **/
+	public static final IRI A_B_PROP = create("a~b");
+
+    /** <code>name property</code> **/
+	public static final IRI NAME_PROP = create("name");
+
+
+	// Individuals
+    /** <code>NAME individual</code> **/
+	public static final IRI NAME_INDIV = create("NAME");
+
+    /** <code>nAme individual</code> **/
+	public static final IRI N_AME = create("nAme");
+
+
+	private static IRI create(String localName) {
+		return SimpleValueFactory.getInstance().createIRI(CLASH.NAMESPACE, localName);
+	}
+}
+
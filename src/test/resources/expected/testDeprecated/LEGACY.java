@@ -0,0 +1,68 @@
+package org.example.vocab;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Namespace;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleNamespace;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+
+/**
+ * Constants for the Legacy vocabulary.
+ *
+ * @see <a href="http://example.org/legacy">Legacy vocabulary</a>
+ * 
+ */
+public class LEGACY {
+	/**
+	 * The LEGACY namespace: http://example.org/legacy#
+	 */
+	public static final String NAMESPACE = "http://example.org/legacy#";
+
+	/**
+	 * Recommended prefix for the namespace: "ex"
+	 */
+	public static final String PREFIX = "ex";
+
+	/**
+	 * An immutable {@link Namespace} constant that represents the namespace.
+	 */
+	public static final Namespace NS = new SimpleNamespace(PREFIX, NAMESPACE);
+
+	// Classes
+    /**
+     * <code>Old thing</code>
+     *
+     * @deprecated replaced by <code>http://example.org/legacy#Thing</code>
+     */
+	@Deprecated
+	public static final IRI OldThing = create("OldThing");
+
+    /** <code>Thing</code> **/
+	public static final IRI Thing = create("Thing");
+
+
+	// Properties
+    /** <code>has part</code> **/
+	public static final IRI hasPart = create("hasPart");
+
+    /**
+     * <code>part</code>
+     *
+     * @deprecated replaced by <code>http://example.org/legacy#hasPart</code>
+     */
+	@Deprecated
+	public static final IRI part = create("part");
+
+
+	// Individuals
+    /** <code>first</code> **/
+	@Deprecated
+	public static final IRI first = create("first");
+
+
+	private static IRI create(String localName) {
+		return SimpleValueFactory.getInstance().createIRI(LEGACY.NAMESPACE, localName);
+	}
+}
+
@@ -0,0 +1,48 @@
+package org.example.vocab;
+
+/**
+ * Constants for the Tree vocabulary.
+ *
+ * @see <a href="http://example.org/tree">Tree vocabulary</a>
+ */
+public class TREE {
+
+    /**
+     * The TREE namespace: http://example.org/tree#
+     */
+    public static final String NS = "http://example.org/tree#";
+
+    /**
+     * Returns the URI for this schema
+     * @return URI
+     */
+    public static String getURI() {
+        return NS;
+    }
+    
+    // Classes
+    /** <code>ex:Agent</code> **/
+    public static final String Agent = NS + "Agent";
+    /** <code>ex:Cycle</code> **/
+    public static final String Cycle = NS + "Cycle";
+    /** <code>ex:Employee</code> **/
+    public static final String Employee = NS + "Employee";
+    /** <code>ex:Manager</code> **/
+    public static final String Manager = NS + "Manager";
+    /** <code>ex:Person</code> **/
+    public static final String Person = NS + "Person";
+
+    // Properties
+    /** <code>ex:knows</code> **/
+    public static final String knows = NS + "knows";
+    /** <code>ex:manages</code> **/
+    public static final String manages = NS + "manages";
+    /** <code>ex:relatedTo</code> **/
+    public static final String relatedTo = NS + "relatedTo";
+    /** <code>ex:worksWith</code> **/
+    public static final String worksWith = NS + "worksWith";
+
+    // Individuals
+    /** <code>ex:alice</code> **/
+    public static final String alice = NS + "alice";
+}
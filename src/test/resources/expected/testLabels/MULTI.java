@@ -0,0 +1,34 @@
+package org.example.vocab;
+
+/**
+ * Constants for the Multilingual vocabulary.
+ *
+ * @see <a href="http://example.org/multi">Multilingual vocabulary</a>
+ */
+public class MULTI {
+
+    /**
+     * The MULTI namespace: http://example.org/multi#
+     */
+    public static final String NS = "http://example.org/multi#";
+
+    /**
+     * Returns the URI for this schema
+     * @return URI
+     */
+    public static String getURI() {
+        return NS;
+    }
+    
+    // Classes
+    /** <code>Adres or Adresse or Address</code> **/
+    public static final String Address = NS + "Address";
+    /** <code>Persoon or Person</code> **/
+    public static final String Person = NS + "Person";
+
+    // Properties
+    /** <code>heeft adres or has address</code> **/
+    public static final String hasAddress = NS + "hasAddress";
+
+    // Individuals
+}
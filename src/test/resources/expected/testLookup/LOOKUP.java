@@ -0,0 +1,133 @@
+package org.example.vocab;
+
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Namespace;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleNamespace;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+
+/**
+ * Constants for the Lookup vocabulary.
+ *
+ * @see <a href="http://example.org/lookup">Lookup vocabulary</a>
+ * 
+ */
+public class LOOKUP {
+	/**
+	 * The LOOKUP namespace: http://example.org/lookup#
+	 */
+	public static final String NAMESPACE = "http://example.org/lookup#";
+
+	/**
+	 * Recommended prefix for the namespace: "ex"
+	 */
+	public static final String PREFIX = "ex";
+
+	/**
+	 * An immutable {@link Namespace} constant that represents the namespace.
+	 */
+	public static final Namespace NS = new SimpleNamespace(PREFIX, NAMESPACE);
+
+	// Classes
+    /** <code>both a class and a property</code> **/
+	public static final IRI AGENT = create("Agent");
+
+    /** <code>Person</code> **/
+	public static final IRI PERSON = create("Person");
+
+    /** <code>Collection of classes</code> **/
+	public static final IRI CLASSES_2 = create("classes");
+
+
+	// Properties
+    /** <code>both a class and a property</code> **/
+	public static final IRI AGENT_PROP = create("Agent");
+
+    /** <code>knows</code> **/
+	public static final IRI KNOWS = create("knows");
+
+    /** <code>number of properties</code> **/
+	public static final IRI PROPERTIES_PROP = create("properties");
+
+
+	// Individuals
+    /** <code>Alice</code> **/
+	public static final IRI ALICE = create("alice");
+
+
+	// Lookup
+	/**
+	 * Immutable set of all classes
+	 */
+	public static final Set<IRI> CLASSES = Set.of(
+		AGENT,
+		PERSON,
+		CLASSES_2
+	);
+
+	/**
+	 * Immutable set of all properties
+	 */
+	public static final Set<IRI> PROPERTIES = Set.of(
+		AGENT_PROP,
+		KNOWS,
+		PROPERTIES_PROP
+	);
+
+	/**
+	 * Immutable set of all individuals
+	 */
+	public static final Set<IRI> INDIVIDUALS = Set.of(
+		ALICE
+	);
+
+	/**
+	 * Get the constant for a local name, without reflection or allocation
+	 *
+	 * @param localName local name
+	 * @return constant or null when not part of this vocabulary
+	 */
+	public static IRI fromLocalName(String localName) {
+		if (localName == null) {
+			return null;
+		}
+		switch (localName) {
+			case "Agent": return AGENT;
+			case "Person": return PERSON;
+			case "alice": return ALICE;
+			case "classes": return CLASSES_2;
+			case "knows": return KNOWS;
+			case "properties": return PROPERTIES_PROP;
+			default: return null;
+		}
+	}
+
+	/**
+	 * Get the constant for an IRI, without reflection or allocation
+	 *
+	 * @param iri IRI
+	 * @return constant or null when not part of this vocabulary
+	 */
+	public static IRI fromIri(IRI iri) {
+		if (iri == null) {
+			return null;
+		}
+		switch (iri.stringValue()) {
+			case "http://example.org/lookup#Agent": return AGENT;
+			case "http://example.org/lookup#Person": return PERSON;
+			case "http://example.org/lookup#alice": return ALICE;
+			case "http://example.org/lookup#classes": return CLASSES_2;
+			case "http://example.org/lookup#knows": return KNOWS;
+			case "http://example.org/lookup#properties": return PROPERTIES_PROP;
+			default: return null;
+		}
+	}
+
+	private static IRI create(String localName) {
+		return SimpleValueFactory.getInstance().createIRI(LOOKUP.NAMESPACE, localName);
+	}
+}
+
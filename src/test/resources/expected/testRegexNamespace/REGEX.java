@@ -0,0 +1,34 @@
+package org.example.vocab;
+
+/**
+ * Constants for the Vocabulary with regular expression characters in the namespace.
+ *
+ * @see <a href="http://example.org/vocab">Vocabulary with regular expression characters in the namespace</a>
+ */
+public class REGEX {
+
+    /**
+     * The REGEX namespace: http://example.org/vocab.v1?(draft)+*#
+     */
+    public static final String NS = "http://example.org/vocab.v1?(draft)+*#";
+
+    /**
+     * Returns the URI for this schema
+     * @return URI
+     */
+    public static String getURI() {
+        return NS;
+    }
+    
+    // Classes
+    /** <code>Thing</code> **/
+    public static final String Thing = NS + "Thing";
+
+    // Properties
+    /** <code>has part</code> **/
+    public static final String hasPart = NS + "hasPart";
+
+    // Individuals
+    /** <code>first</code> **/
+    public static final String first = NS + "first";
+}
@@ -0,0 +1,78 @@
+package org.example.vocab;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Namespace;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleNamespace;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+
+/**
+ * Constants for the Lookup vocabulary.
+ *
+ * @see <a href="http://example.org/lookup">Lookup vocabulary</a>
+ * 
+ */
+public class LOOKUP implements LOOKUP_Shard0, LOOKUP_Shard1, LOOKUP_Shard2 {
+	/**
+	 * The LOOKUP namespace: http://example.org/lookup#
+	 */
+	public static final String NAMESPACE = "http://example.org/lookup#";
+
+	/**
+	 * Recommended prefix for the namespace: "ex"
+	 */
+	public static final String PREFIX = "ex";
+
+	/**
+	 * An immutable {@link Namespace} constant that represents the namespace.
+	 */
+	public static final Namespace NS = new SimpleNamespace(PREFIX, NAMESPACE);
+
+	static IRI create(String localName) {
+		return SimpleValueFactory.getInstance().createIRI(LOOKUP.NAMESPACE, localName);
+	}
+}
+
+/**
+ * Part 1 of 3 of the constants of {@link LOOKUP}
+ */
+interface LOOKUP_Shard0 {
+	// Classes
+    /** <code>both a class and a property</code> **/
+	public static final IRI AGENT = LOOKUP.create("Agent");
+
+    /** <code>Person</code> **/
+	public static final IRI PERSON = LOOKUP.create("Person");
+
+    /** <code>Collection of classes</code> **/
+	public static final IRI CLASSES = LOOKUP.create("classes");
+
+}
+
+/**
+ * Part 2 of 3 of the constants of {@link LOOKUP}
+ */
+interface LOOKUP_Shard1 {
+	// Properties
+    /** <code>both a class and a property</code> **/
+	public static final IRI AGENT_PROP = LOOKUP.create("Agent");
+
+    /** <code>knows</code> **/
+	public static final IRI KNOWS = LOOKUP.create("knows");
+
+    /** <code>number of properties</code> **/
+	public static final IRI PROPERTIES = LOOKUP.create("properties");
+
+}
+
+/**
+ * Part 3 of 3 of the constants of {@link LOOKUP}
+ */
+interface LOOKUP_Shard2 {
+	// Individuals
+    /** <code>Alice</code> **/
+	public static final IRI ALICE = LOOKUP.create("alice");
+
+}
+
@@ -0,0 +1,351 @@
+package org.example.vocab;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Individual;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+
+/**
+ * Constants for the Lookup vocabulary.
+ *
+ * @see <a href="http://example.org/lookup">Lookup vocabulary</a>
+ */
+public class LOOKUP implements LOOKUP_Shard0, LOOKUP_Shard1, LOOKUP_Shard2, LOOKUP_Sets {
+    static final Model m = ModelFactory.createDefaultModel();
+
+    /**
+     * The LOOKUP namespace: http://example.org/lookup#
+     */
+    public static final String NS = "http://example.org/lookup#";
+    public static final Resource NAMESPACE = m.createResource(NS);
+
+    /**
+     * Returns the URI for this schema
+     * @return URI
+     */
+    public static String getURI() {
+        return NS;
+    }
+    
+    // Lookup
+    private static final String[] LOOKUP_NAMES = {
+        "Agent",
+        "Person",
+        "alice",
+        "classes",
+        "knows",
+        "properties"
+    };
+
+    private static final String[] LOOKUP_IRIS = {
+        "http://example.org/lookup#Agent",
+        "http://example.org/lookup#Person",
+        "http://example.org/lookup#alice",
+        "http://example.org/lookup#classes",
+        "http://example.org/lookup#knows",
+        "http://example.org/lookup#properties"
+    };
+
+    /**
+     * Get the constant for a local name, without reflection or allocation
+     *
+     * @param localName local name
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromLocalName(String localName) {
+        if (localName == null) {
+            return null;
+        }
+        switch (lookupShard(LOOKUP_NAMES, localName)) {
+            case 0: return LOOKUP_Lookup0.fromLocalName(localName);
+            case 1: return LOOKUP_Lookup1.fromLocalName(localName);
+            case 2: return LOOKUP_Lookup2.fromLocalName(localName);
+            case 3: return LOOKUP_Lookup3.fromLocalName(localName);
+            case 4: return LOOKUP_Lookup4.fromLocalName(localName);
+            case 5: return LOOKUP_Lookup5.fromLocalName(localName);
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the constant for a URI, without reflection or allocation
+     *
+     * @param uri URI
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromUri(String uri) {
+        if (uri == null) {
+            return null;
+        }
+        switch (lookupShard(LOOKUP_IRIS, uri)) {
+            case 0: return LOOKUP_Lookup0.fromUri(uri);
+            case 1: return LOOKUP_Lookup1.fromUri(uri);
+            case 2: return LOOKUP_Lookup2.fromUri(uri);
+            case 3: return LOOKUP_Lookup3.fromUri(uri);
+            case 4: return LOOKUP_Lookup4.fromUri(uri);
+            case 5: return LOOKUP_Lookup5.fromUri(uri);
+            default: return null;
+        }
+    }
+
+    /**
+     * Get the constant for a resource, without reflection or allocation
+     *
+     * @param resource resource
+     * @return constant or null when not part of this vocabulary
+     */
+    public static Resource fromResource(Resource resource) {
+        return (resource == null) ? null : fromUri(resource.getURI());
+    }
+
+    /**
+     * Get the lookup shard that may contain a key, using the first key of each shard
+     *
+     * @param first sorted first keys
+     * @param key key
+     * @return index of the shard or -1
+     */
+    private static int lookupShard(String[] first, String key) {
+        int i = Arrays.binarySearch(first, key);
+        return (i >= 0) ? i : -i - 2;
+    }
+}
+
+/**
+ * Part 1 of 3 of the constants of {@link LOOKUP}
+ */
+interface LOOKUP_Shard0 {
+    // Classes
+    /** <code>both a class and a property</code> **/
+    public static final Resource AGENT = LOOKUP.m.createResource(LOOKUP.NS + "Agent");
+    /** <code>Person</code> **/
+    public static final Resource PERSON = LOOKUP.m.createResource(LOOKUP.NS + "Person");
+    /** <code>Collection of classes</code> **/
+    public static final Resource CLASSES_2 = LOOKUP.m.createResource(LOOKUP.NS + "classes");
+
+    static Stream<Resource> classes() {
+        return Stream.of(
+            AGENT,
+            PERSON,
+            CLASSES_2
+        );
+    }
+
+    static Stream<Property> properties() {
+        return Stream.of(
+        );
+    }
+
+    static Stream<Individual> individuals() {
+        return Stream.of(
+        );
+    }
+}
+
+/**
+ * Part 2 of 3 of the constants of {@link LOOKUP}
+ */
+interface LOOKUP_Shard1 {
+    // Properties
+    /** <code>both a class and a property</code> **/
+    public static final Property AGENT_PROP = LOOKUP.m.createProperty(LOOKUP.NS + "Agent");
+    /** <code>knows</code> **/
+    public static final Property KNOWS = LOOKUP.m.createProperty(LOOKUP.NS + "knows");
+    /** <code>number of properties</code> **/
+    public static final Property PROPERTIES_PROP = LOOKUP.m.createProperty(LOOKUP.NS + "properties");
+
+    static Stream<Resource> classes() {
+        return Stream.of(
+        );
+    }
+
+    static Stream<Property> properties() {
+        return Stream.of(
+            AGENT_PROP,
+            KNOWS,
+            PROPERTIES_PROP
+        );
+    }
+
+    static Stream<Individual> individuals() {
+        return Stream.of(
+        );
+    }
+}
+
+/**
+ * Part 3 of 3 of the constants of {@link LOOKUP}
+ */
+interface LOOKUP_Shard2 {
+    // Individuals
+    /** <code>Alice</code> **/
+    public static final Individual ALICE = LOOKUP.m.createProperty(LOOKUP.NS + "alice");
+
+    static Stream<Resource> classes() {
+        return Stream.of(
+        );
+    }
+
+    static Stream<Property> properties() {
+        return Stream.of(
+        );
+    }
+
+    static Stream<Individual> individuals() {
+        return Stream.of(
+            ALICE
+        );
+    }
+}
+
+/**
+ * Immutable sets of all terms of {@link LOOKUP}
+ */
+interface LOOKUP_Sets {
+    /**
+     * Immutable set of all classes
+     */
+    public static final Set<Resource> CLASSES = Stream.of(
+        LOOKUP_Shard0.classes(),
+        LOOKUP_Shard1.classes(),
+        LOOKUP_Shard2.classes()
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Immutable set of all properties
+     */
+    public static final Set<Property> PROPERTIES = Stream.of(
+        LOOKUP_Shard0.properties(),
+        LOOKUP_Shard1.properties(),
+        LOOKUP_Shard2.properties()
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * Immutable set of all individuals
+     */
+    public static final Set<Individual> INDIVIDUALS = Stream.of(
+        LOOKUP_Shard0.individuals(),
+        LOOKUP_Shard1.individuals(),
+        LOOKUP_Shard2.individuals()
+    ).flatMap(s -> s).collect(Collectors.toUnmodifiableSet());
+}
+
+/**
+ * Part 1 of 6 of the reverse lookup of {@link LOOKUP}
+ */
+interface LOOKUP_Lookup0 {
+    static Resource fromLocalName(String localName) {
+        switch (localName) {
+            case "Agent": return LOOKUP.AGENT;
+            default: return null;
+        }
+    }
+
+    static Resource fromUri(String uri) {
+        switch (uri) {
+            case "http://example.org/lookup#Agent": return LOOKUP.AGENT;
+            default: return null;
+        }
+    }
+}
+
+/**
+ * Part 2 of 6 of the reverse lookup of {@link LOOKUP}
+ */
+interface LOOKUP_Lookup1 {
+    static Resource fromLocalName(String localName) {
+        switch (localName) {
+            case "Person": return LOOKUP.PERSON;
+            default: return null;
+        }
+    }
+
+    static Resource fromUri(String uri) {
+        switch (uri) {
+            case "http://example.org/lookup#Person": return LOOKUP.PERSON;
+            default: return null;
+        }
+    }
+}
+
+/**
+ * Part 3 of 6 of the reverse lookup of {@link LOOKUP}
+ */
+interface LOOKUP_Lookup2 {
+    static Resource fromLocalName(String localName) {
+        switch (localName) {
+            case "alice": return LOOKUP.ALICE;
+            default: return null;
+        }
+    }
+
+    static Resource fromUri(String uri) {
+        switch (uri) {
+            case "http://example.org/lookup#alice": return LOOKUP.ALICE;
+            default: return null;
+        }
+    }
+}
+
+/**
+ * Part 4 of 6 of the reverse lookup of {@link LOOKUP}
+ */
+interface LOOKUP_Lookup3 {
+    static Resource fromLocalName(String localName) {
+        switch (localName) {
+            case "classes": return LOOKUP.CLASSES_2;
+            default: return null;
+        }
+    }
+
+    static Resource fromUri(String uri) {
+        switch (uri) {
+            case "http://example.org/lookup#classes": return LOOKUP.CLASSES_2;
+            default: return null;
+        }
+    }
+}
+
+/**
+ * Part 5 of 6 of the reverse lookup of {@link LOOKUP}
+ */
+interface LOOKUP_Lookup4 {
+    static Resource fromLocalName(String localName) {
+        switch (localName) {
+            case "knows": return LOOKUP.KNOWS;
+            default: return null;
+        }
+    }
+
+    static Resource fromUri(String uri) {
+        switch (uri) {
+            case "http://example.org/lookup#knows": return LOOKUP.KNOWS;
+            default: return null;
+        }
+    }
+}
+
+/**
+ * Part 6 of 6 of the reverse lookup of {@link LOOKUP}
+ */
+interface LOOKUP_Lookup5 {
+    static Resource fromLocalName(String localName) {
+        switch (localName) {
+            case "properties": return LOOKUP.PROPERTIES_PROP;
+            default: return null;
+        }
+    }
+
+    static Resource fromUri(String uri) {
+        switch (uri) {
+            case "http://example.org/lookup#properties": return LOOKUP.PROPERTIES_PROP;
+            default: return null;
+        }
+    }
+}
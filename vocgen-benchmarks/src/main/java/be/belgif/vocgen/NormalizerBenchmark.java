@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the single pass normalizer with the former regular expressions
+ *
+ * @author Bart.Hanssens
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class NormalizerBenchmark {
+	private static final Pattern KEYWORDS = Pattern.compile(
+		"(abstract|continue|for|new|switch|assert|default|goto|package|synchronized|boolean|do|if|private|this|"
+						+ "break|double|implements|protected|throw|byte|else|import|public|throws|case|enum|"
+						+ "instanceof|return|transient|catch|extends|int|short|try|char|final|interface|static|"
+						+ "void|class|finally|long|strictfp|volatile|const|float|native|super|while)");
+
+	@Param({"100000"})
+	public int terms;
+
+	private String[] names;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		names = new String[terms];
+		for (int i = 0; i < terms; i++) {
+			switch (i % 3) {
+				case 0: names[i] = SyntheticOntology.className(i); break;
+				case 1: names[i] = SyntheticOntology.propName(i); break;
+				default: names[i] = SyntheticOntology.indivName(i);
+			}
+		}
+	}
+
+	/**
+	 * Former implementation of snake case
+	 *
+	 * @param s local name
+	 * @return constant name
+	 */
+	private static String legacySnakeCase(String s) {
+		if (s.equals("namespace") || s.equals("prefix")) {
+			return s.toUpperCase() + "_PROP";
+		}
+		return s.replaceFirst("^_", "")
+				.replaceAll("-", "_")
+				.replaceAll("([a-z]+)([A-Z])", "$1_$2")
+				.toUpperCase();
+	}
+
+	/**
+	 * Former implementation of safe java names
+	 *
+	 * @param s local name
+	 * @return java name
+	 */
+	private static String legacySafeJavaName(String s) {
+		if (KEYWORDS.matcher(s).matches()) {
+			return s + "_";
+		}
+		return s.replaceAll("^_", "")
+				.replaceAll("[+\\-~*#&%§!]", "_");
+	}
+
+	@Benchmark
+	public void snakeCaseLegacy(Blackhole bh) {
+		for (String name: names) {
+			bh.consume(legacySnakeCase(name));
+		}
+	}
+
+	@Benchmark
+	public void snakeCase(Blackhole bh) {
+		for (String name: names) {
+			bh.consume(Names.snakeCase(name));
+		}
+	}
+
+	@Benchmark
+	public void toSafeJavaNameLegacy(Blackhole bh) {
+		for (String name: names) {
+			bh.consume(legacySafeJavaName(name));
+		}
+	}
+
+	@Benchmark
+	public void toSafeJavaName(Blackhole bh) {
+		for (String name: names) {
+			bh.consume(Names.toSafeJavaName(name));
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import freemarker.template.Configuration;
+import freemarker.template.TemplateException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark rendering the java source with the freemarker templates or the built-in emitter
+ *
+ * @author Bart.Hanssens
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Thread)
+public class RenderBenchmark {
+	@Param({"RDF4J", "JENA", "PLAIN"})
+	public String template;
+
+	@Param({"false", "true"})
+	public boolean emitter;
+
+	private Configuration cfg;
+	private Map root;
+
+	@Setup(Level.Trial)
+	public void setup(OntologyState state) {
+		cfg = Main.getConfig();
+		root = new HashMap();
+		root.put("fullname", "Synthetic vocabulary");
+		root.put("url", SyntheticOntology.NS);
+		root.put("nsAlias", "SYNTH");
+		root.put("prefix", "synth");
+		root.put("nsURL", SyntheticOntology.NS);
+		root.put("package", "org.example.bench");
+		Terms terms = Main.extract(state.model, SyntheticOntology.NS, state.labels);
+		Map<String,String> deprecated = terms.getDeprecated();
+		NameResolver resolver = new NameResolver(Main.TemplateType.valueOf(template).getReserved());
+		Map<String,Constant> classes = Main.getConstants(terms.getClasses(), false, resolver, null);
+		Map<String,Constant> props = Main.getConstants(terms.getProps(), false, resolver, "_PROP");
+		Map<String,Constant> indivs = Main.getConstants(terms.getIndivs(), false, resolver, "_INDIV");
+		Main.markDeprecated(classes, deprecated);
+		Main.markDeprecated(props, deprecated);
+		Main.markDeprecated(indivs, deprecated);
+
+		root.put("classMap", classes);
+		root.put("propMap", props);
+		root.put("indivMap", indivs);
+	}
+
+	@Benchmark
+	public String source() throws IOException, TemplateException {
+		return Main.render(cfg, Main.TemplateType.valueOf(template), root, emitter);
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+/**
+ * Generate synthetic ontologies of a given number of terms, in Turtle or N-Triples format.
+ *
+ * About a quarter of the terms are classes (in a subclass tree), half of them properties
+ * and a quarter individuals. Every term has an English and Dutch label, some terms are deprecated.
+ *
+ * @author Bart.Hanssens
+ */
+public class SyntheticOntology {
+	public static final String NS = "http://example.org/bench#";
+
+	/**
+	 * Get the local name of a class
+	 *
+	 * @param i number
+	 * @return local name
+	 */
+	public static String className(int i) {
+		return "SyntheticClass" + i;
+	}
+
+	/**
+	 * Get the local name of a property
+	 *
+	 * @param i number
+	 * @return local name
+	 */
+	public static String propName(int i) {
+		return "hasSyntheticValue" + i;
+	}
+
+	/**
+	 * Get the local name of an individual
+	 *
+	 * @param i number
+	 * @return local name
+	 */
+	public static String indivName(int i) {
+		return "synthetic-individual_" + i;
+	}
+
+	/**
+	 * Write ontology to a temporary file
+	 *
+	 * @param terms number of terms
+	 * @return path to the file
+	 * @throws IOException
+	 */
+	public static Path write(int terms) throws IOException {
+		Path file = Files.createTempFile("vocgen-bench-" + terms + "-", ".ttl");
+		file.toFile().deleteOnExit();
+
+		int classes = Math.max(1, terms / 4);
+		int props = Math.max(1, terms / 2);
+		int indivs = Math.max(1, terms - classes - props);
+
+		try (Writer w = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16)) {
+			w.write("@prefix : <" + NS + "> .\n");
+			w.write("@prefix rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#> .\n");
+			w.write("@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n");
+			w.write("@prefix owl: <http://www.w3.org/2002/07/owl#> .\n\n");
+
+			for (int i = 0; i < classes; i++) {
+				w.write(":" + className(i) + " a owl:Class ;\n");
+				if (i > 0) {
+					w.write("\trdfs:subClassOf :" + className(i / 2) + " ;\n");
+				}
+				writeCommon(w, "class " + i, i);
+			}
+			for (int i = 0; i < props; i++) {
+				w.write(":" + propName(i) + " a " + (i % 2 == 0 ? "owl:ObjectProperty" : "owl:DatatypeProperty") + " ;\n");
+				if (i > 1) {
+					w.write("\trdfs:subPropertyOf :" + propName(i / 2) + " ;\n");
+				}
+				writeCommon(w, "property " + i, i);
+			}
+			for (int i = 0; i < indivs; i++) {
+				w.write(":" + indivName(i) + " a owl:NamedIndividual, :" + className(i % classes) + " ;\n");
+				writeCommon(w, "individual " + i, i);
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Write ontology to a temporary N-Triples file
+	 *
+	 * @param terms number of terms
+	 * @return path to the file
+	 * @throws IOException
+	 */
+	public static Path writeNTriples(int terms) throws IOException {
+		Path ttl = write(terms);
+		Path file = Files.createTempFile("vocgen-bench-" + terms + "-", ".nt");
+		file.toFile().deleteOnExit();
+
+		Model m;
+		try (InputStream in = Files.newInputStream(ttl)) {
+			m = Rio.parse(in, NS, RDFFormat.TURTLE);
+		}
+		try (OutputStream out = Files.newOutputStream(file)) {
+			Rio.write(m, out, RDFFormat.NTRIPLES);
+		}
+		Files.delete(ttl);
+		return file;
+	}
+
+	/**
+	 * Write labels and deprecation, and end the subject
+	 *
+	 * @param w writer
+	 * @param label label
+	 * @param i number
+	 * @throws IOException
+	 */
+	private static void writeCommon(Writer w, String label, int i) throws IOException {
+		if (i % 20 == 19) {
+			w.write("\towl:deprecated true ;\n");
+		}
+		w.write("\trdfs:label \"" + label + "\"@en, \"" + label + " (nl)\"@nl .\n");
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen.maven;
+
+import be.belgif.vocgen.Main;
+import freemarker.template.Configuration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Generate vocabulary classes inside the Maven JVM, and add them to the compile sources
+ *
+ * @author Bart.Hanssens
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	private MavenProject project;
+
+	/**
+	 * Root directory of the generated sources, the package directories are created below it
+	 */
+	@Parameter(defaultValue = "${project.build.directory}/generated-sources/vocgen", required = true)
+	private File outputDirectory;
+
+	/**
+	 * Vocabularies to generate
+	 */
+	@Parameter(required = true)
+	private List<Vocabulary> vocabularies;
+
+	/**
+	 * Regenerate, even if the ontologies, copyright files and settings did not change
+	 */
+	@Parameter(property = "vocgen.force", defaultValue = "false")
+	private boolean force;
+
+	/**
+	 * Skip generation
+	 */
+	@Parameter(property = "vocgen.skip", defaultValue = "false")
+	private boolean skip;
+
+	/**
+	 * Check that every template of a vocabulary has its own java package,
+	 * since classes with the same name in the same package cannot be compiled together
+	 *
+	 * @param voc vocabulary
+	 * @throws MojoExecutionException when two templates use the same package
+	 */
+	private static void checkPackages(Vocabulary voc) throws MojoExecutionException {
+		Map<String,String> used = new HashMap<>();
+		try {
+			for (Map.Entry<String,String> e: voc.getPackages().entrySet()) {
+				String other = used.put(e.getValue(), e.getKey());
+				if (other != null) {
+					throw new MojoExecutionException("Templates " + other + " and " + e.getKey() + " of "
+						+ voc.getShortName() + " both generate " + e.getValue() + "." + voc.getShortName()
+						+ ", set a package per template, e.g. <templatePackage>" + e.getKey() + "="
+						+ e.getValue() + "." + e.getKey() + "</templatePackage>");
+				}
+			}
+		} catch (IllegalArgumentException ex) {
+			throw new MojoExecutionException(ex.getMessage(), ex);
+		}
+	}
+
+	@Override
+	public void execute() throws MojoExecutionException {
+		if (skip) {
+			getLog().info("Skipping vocabulary generation");
+			return;
+		}
+		for (int i = 0; i < vocabularies.size(); i++) {
+			List<String> missing = vocabularies.get(i).getMissingFields();
+			if (!missing.isEmpty()) {
+				String name = (vocabularies.get(i).getShortName() != null)
+								? vocabularies.get(i).getShortName() : "#" + (i + 1);
+				throw new MojoExecutionException("Vocabulary " + name + " is missing required field(s) "
+								+ String.join(", ", missing));
+			}
+			checkPackages(vocabularies.get(i));
+		}
+		Configuration cfg = Main.getConfig();
+
+		for (Vocabulary voc: vocabularies) {
+			List<String> args = new ArrayList<>(List.of(voc.toArgs(outputDirectory)));
+			if (!force) {
+				// skipped when the digest of ontology, copyright, template and options did not change
+				args.add("--incremental");
+			}
+			getLog().info("Generating " + voc.getShortName() + " (" + voc.getTemplate() + ") in " + outputDirectory);
+			try {
+				new Main().generateVocabulary(args.toArray(new String[0]), cfg);
+			} catch (Exception ex) {
+				throw new MojoExecutionException("Failed to generate " + voc.getShortName(), ex);
+			}
+		}
+		project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
+
+		// binary term dictionaries are loaded from the classpath by the generated accessor
+		if (vocabularies.stream().anyMatch(v -> v.getTemplates().contains("dictionary"))) {
+			Resource dicts = new Resource();
+			dicts.setDirectory(outputDirectory.getAbsolutePath());
+			dicts.addInclude("**/*.dict");
+			project.addResource(dicts);
+		}
+	}
+}
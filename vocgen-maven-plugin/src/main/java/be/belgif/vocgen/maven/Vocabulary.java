@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2017, Bart Hanssens <bart.hanssens@fedict.be>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package be.belgif.vocgen.maven;
+
+import be.belgif.vocgen.Main;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration of one vocabulary, with the same fields as the command line options
+ *
+ * @author Bart.Hanssens
+ */
+public class Vocabulary {
+	private File file;
+	private String doc;
+	private String author;
+	private String ns;
+	private String shortName;
+	private String longName;
+	private String prefix;
+	private String template = "rdf4j";
+	private String packageName;
+	private String templatePackage;
+	private boolean snakeCase;
+	private File copyright;
+	private boolean streaming;
+	private int shardSize;
+	private Integer parallel;
+
+	/**
+	 * Get the ontology file
+	 *
+	 * @return file
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Get the copyright file
+	 *
+	 * @return file or null
+	 */
+	public File getCopyright() {
+		return copyright;
+	}
+
+	/**
+	 * Get the short name, also used as name of the java class
+	 *
+	 * @return short name
+	 */
+	public String getShortName() {
+		return shortName;
+	}
+
+	/**
+	 * Get the template
+	 *
+	 * @return comma separated template names, or all
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
+	/**
+	 * Get the template names, with all expanded into rdf4j, jena and plain like on the command line
+	 *
+	 * @return list of lower case template names
+	 */
+	public List<String> getTemplates() {
+		Set<String> names = new LinkedHashSet<>();
+		for (String t: template.split(",")) {
+			t = t.trim().toLowerCase(Locale.ROOT);
+			if (t.equals("all")) {
+				names.addAll(List.of("rdf4j", "jena", "plain"));
+			} else if (!t.isEmpty()) {
+				names.add(t);
+			}
+		}
+		return new ArrayList<>(names);
+	}
+
+	/**
+	 * Get the java package per template
+	 *
+	 * @return map of lower case template names and packages, for all templates
+	 * @throws IllegalArgumentException when the template packages are not template=package pairs
+	 */
+	public Map<String,String> getPackages() {
+		Map<String,String> pkgs = new LinkedHashMap<>();
+		getTemplates().forEach(t -> pkgs.put(t, getPackageName()));
+		if (templatePackage != null && !templatePackage.isBlank()) {
+			for (String pair: templatePackage.split(",")) {
+				int eq = pair.indexOf('=');
+				if (eq <= 0) {
+					throw new IllegalArgumentException("Invalid templatePackage " + pair + ", expected <template>=<package>");
+				}
+				String t = pair.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+				if (pkgs.containsKey(t)) {
+					pkgs.put(t, pair.substring(eq + 1).trim());
+				}
+			}
+		}
+		return pkgs;
+	}
+
+	/**
+	 * Get the java package
+	 *
+	 * @return package name, or the default package of the command line when not set
+	 */
+	public String getPackageName() {
+		return (packageName != null && !packageName.isBlank()) ? packageName : Main.DEFAULT_PACKAGE;
+	}
+
+	/**
+	 * Get the names of the required fields that are not set
+	 *
+	 * @return list of field names, empty when the configuration is complete
+	 */
+	public List<String> getMissingFields() {
+		List<String> missing = new ArrayList<>();
+		if (file == null) {
+			missing.add("file");
+		}
+		String[][] required = { { "doc", doc }, { "ns", ns }, { "shortName", shortName },
+								{ "longName", longName }, { "prefix", prefix }, { "template", template } };
+		for (String[] r: required) {
+			if (r[1] == null || r[1].isBlank()) {
+				missing.add(r[0]);
+			}
+		}
+		return missing;
+	}
+
+	/**
+	 * Get the output directory of a java package
+	 *
+	 * @param root root directory of the generated sources
+	 * @param pkg java package
+	 * @return package directory below the root
+	 */
+	static File getPackageDir(File root, String pkg) {
+		return new File(root, pkg.replace('.', File.separatorChar));
+	}
+
+	/**
+	 * Get command line arguments, the required fields must be set.
+	 * Each template is written to the directory of its package, so the output directory can be a source root.
+	 *
+	 * @param root root directory of the generated sources
+	 * @return arguments
+	 */
+	public String[] toArgs(File root) {
+		List<String> args = new ArrayList<>(List.of(
+			"--file", file.getPath(),
+			"--doc", doc,
+			"--ns", ns,
+			"--short", shortName,
+			"--long", longName,
+			"--prefix", prefix,
+			"--template", template,
+			"--package", getPackageName(),
+			"--output-dir", getPackageDir(root, getPackageName()).getPath()));
+		Map<String,String> pkgs = getPackages();
+		if (pkgs.size() > 1) {
+			List<String> tps = new ArrayList<>();
+			List<String> tos = new ArrayList<>();
+			pkgs.forEach((t, pkg) -> {
+				tps.add(t + "=" + pkg);
+				tos.add(t + "=" + getPackageDir(root, pkg).getPath());
+			});
+			args.add("--template-package");
+			args.add(String.join(",", tps));
+			args.add("--template-output-dir");
+			args.add(String.join(",", tos));
+		}
+		if (author != null) {
+			args.add("--author");
+			args.add(author);
+		}
+		if (copyright != null) {
+			args.add("--copyright");
+			args.add(copyright.getPath());
+		}
+		if (snakeCase) {
+			args.add("--snake-case");
+		}
+		if (streaming) {
+			args.add("--streaming");
+		}
+		if (shardSize > 0) {
+			args.add("--shard-size");
+			args.add(Integer.toString(shardSize));
+		}
+		if (parallel != null) {
+			args.add("--parallel");
+			args.add(parallel.toString());
+		}
+		return args.toArray(new String[0]);
+	}
+}
@@ -0,0 +1,137 @@
+package be.belgif.vocgen.maven;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenerateMojoTests {
+
+    @Test
+    public void testToArgs() throws Exception {
+        Vocabulary voc = rdf();
+        set(voc, "snakeCase", true);
+        set(voc, "shardSize", 500);
+        List<String> args = List.of(voc.toArgs(new File("out")));
+        assertEquals(List.of("--file", "src/test/resources/rdf.ttl",
+                        "--doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/",
+                        "--ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+                        "--short", "RDF",
+                        "--long", "The RDF vocabulary",
+                        "--prefix", "rdf",
+                        "--template", "rdf4j",
+                        "--package", "org.w3.vocab",
+                        "--output-dir", new File("out/org/w3/vocab").getPath(),
+                        "--snake-case",
+                        "--shard-size", "500"), args);
+    }
+
+    @Test
+    public void testDefaultPackage() throws Exception {
+        Vocabulary voc = rdf();
+        set(voc, "packageName", null);
+        assertEquals("org.eclipse.rdf4j.model.vocabulary", voc.getPackageName());
+        assertTrue(List.of(voc.toArgs(new File("out"))).contains("org.eclipse.rdf4j.model.vocabulary"));
+    }
+
+    @Test
+    public void testMissingFields() throws Exception {
+        Vocabulary voc = rdf();
+        set(voc, "longName", null);
+        set(voc, "prefix", " ");
+        GenerateMojo mojo = mojo("testMissingFields", voc);
+        MojoExecutionException ex = assertThrows(MojoExecutionException.class, mojo::execute);
+        assertEquals("Vocabulary RDF is missing required field(s) longName, prefix", ex.getMessage());
+    }
+
+    @Test
+    public void testTemplates_SamePackage() throws Exception {
+        Vocabulary voc = rdf();
+        set(voc, "template", "all");
+        GenerateMojo mojo = mojo("testTemplates_SamePackage", voc);
+        MojoExecutionException ex = assertThrows(MojoExecutionException.class, mojo::execute);
+        assertTrue(ex.getMessage().startsWith("Templates rdf4j and jena of RDF both generate org.w3.vocab.RDF"));
+    }
+
+    @Test
+    public void testTemplates() throws Exception {
+        Vocabulary voc = rdf();
+        set(voc, "template", "rdf4j, dictionary");
+        set(voc, "templatePackage", "dictionary=org.w3.vocab.dict");
+        MavenProject project = new MavenProject();
+        GenerateMojo mojo = mojo("testTemplates", voc);
+        set(mojo, "project", project);
+        mojo.execute();
+
+        Path dir = outputDir("testTemplates");
+        assertTrue(Files.readString(dir.resolve("org/w3/vocab/RDF.java")).contains("package org.w3.vocab;"));
+        assertTrue(Files.readString(dir.resolve("org/w3/vocab/dict/RDF.java")).contains("package org.w3.vocab.dict;"));
+        assertTrue(Files.exists(dir.resolve("org/w3/vocab/dict/RDF.dict")));
+        assertEquals(List.of(dir.toFile().getAbsolutePath()), project.getCompileSourceRoots());
+        assertEquals(List.of("**/*.dict"), project.getResources().get(0).getIncludes());
+    }
+
+    @Test
+    public void testUpToDate() throws Exception {
+        GenerateMojo mojo = mojo("testUpToDate", rdf());
+        mojo.execute();
+        Path java = outputDir("testUpToDate").resolve("org/w3/vocab/RDF.java");
+        assertTrue(Files.readString(java).contains("class RDF"));
+
+        // unchanged: skipped
+        Files.writeString(java, "not generated again");
+        mojo.execute();
+        assertEquals("not generated again", Files.readString(java));
+
+        // forced: generated again
+        set(mojo, "force", true);
+        mojo.execute();
+        assertTrue(Files.readString(java).contains("class RDF"));
+    }
+
+    private static Vocabulary rdf() throws Exception {
+        Vocabulary voc = new Vocabulary();
+        set(voc, "file", new File("src/test/resources/rdf.ttl"));
+        set(voc, "doc", "https://www.w3.org/TR/2014/REC-rdf11-concepts-20140225/");
+        set(voc, "ns", "http://www.w3.org/1999/02/22-rdf-syntax-ns#");
+        set(voc, "shortName", "RDF");
+        set(voc, "longName", "The RDF vocabulary");
+        set(voc, "prefix", "rdf");
+        set(voc, "packageName", "org.w3.vocab");
+        return voc;
+    }
+
+    private static GenerateMojo mojo(String testName, Vocabulary... vocabularies) throws Exception {
+        Path dir = outputDir(testName);
+        if (Files.exists(dir)) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+        GenerateMojo mojo = new GenerateMojo();
+        set(mojo, "project", new MavenProject());
+        set(mojo, "outputDirectory", dir.toFile());
+        set(mojo, "vocabularies", List.of(vocabularies));
+        return mojo;
+    }
+
+    private static Path outputDir(String testName) {
+        return Path.of("target/test-output/" + testName);
+    }
+
+    private static void set(Object obj, String name, Object value) throws ReflectiveOperationException {
+        // like Maven, which injects the configuration into the private fields
+        Field f = obj.getClass().getDeclaredField(name);
+        f.setAccessible(true);
+        f.set(obj, value);
+    }
+}